@@ -0,0 +1,78 @@
+package com.testing.framework.benchmarks;
+
+import com.testing.framework.api.client.BaseApiClient;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a {@link BaseApiClient} (config lookup plus request specification)
+ * and of layering auth and headers onto its specification
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+@State(Scope.Thread)
+public class BaseApiClientBenchmark {
+
+    /**
+     * Exposes the specification so every layering call starts from the same base
+     */
+    static class LayeringClient extends BaseApiClient {
+
+        RequestSpecification spec() {
+            return requestSpec;
+        }
+
+        void restore(RequestSpecification base) {
+            requestSpec = base;
+        }
+    }
+
+    private StubServer stub;
+    private LayeringClient client;
+    private RequestSpecification baseSpec;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = StubServer.start();
+        client = new LayeringClient();
+        baseSpec = client.spec();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public BaseApiClient construct() {
+        return new BaseApiClient();
+    }
+
+    @Benchmark
+    public RequestSpecification resetSpecification() {
+        client.resetRequestSpec();
+        return client.spec();
+    }
+
+    @Benchmark
+    public RequestSpecification bearerAuth() {
+        client.restore(baseSpec);
+        client.setBearerAuth("benchmark-token");
+        return client.spec();
+    }
+
+    @Benchmark
+    public RequestSpecification bearerAuthAndHeaders() {
+        client.restore(baseSpec);
+        client.setBearerAuth("benchmark-token");
+        client.addHeader("X-Request-Id", "bench-1");
+        client.addHeader("X-Tenant", "bench");
+        return client.spec();
+    }
+}
@@ -0,0 +1,63 @@
+package com.testing.framework.benchmarks;
+
+import com.testing.framework.ui.utils.BrowserManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless {@link BrowserManager} lifecycle: launching Playwright, browser, context and
+ * page, and tearing them down again (including trace saving). Each invocation takes
+ * hundreds of milliseconds, so it is measured single-shot.
+ *
+ * Requires installed Playwright browsers.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Denv=bench", "-Dheadless=true"})
+@State(Scope.Thread)
+public class BrowserManagerBenchmark {
+
+    /**
+     * Browser torn down after each measured initialization
+     */
+    @State(Scope.Thread)
+    public static class Uninitialized {
+
+        @TearDown(Level.Iteration)
+        public void close() {
+            BrowserManager.closeBrowser();
+        }
+    }
+
+    /**
+     * Browser initialized before each measured teardown
+     */
+    @State(Scope.Thread)
+    public static class Initialized {
+
+        @Setup(Level.Iteration)
+        public void open() {
+            BrowserManager.initializeBrowser();
+        }
+    }
+
+    @Benchmark
+    public Object initialize(Uninitialized state) {
+        BrowserManager.initializeBrowser();
+        return BrowserManager.getPage();
+    }
+
+    @Benchmark
+    public void close(Initialized state) {
+        BrowserManager.closeBrowser();
+    }
+
+    @Benchmark
+    public void initializeAndClose() {
+        BrowserManager.initializeBrowser();
+        BrowserManager.closeBrowser();
+    }
+}
@@ -0,0 +1,74 @@
+package com.testing.framework.benchmarks;
+
+import com.testing.framework.core.config.ConfigContext;
+import com.testing.framework.core.config.ConfigManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property access through {@link ConfigManager}: instance lookup with and without a
+ * bound {@link ConfigContext}, raw and typed getters, and default-value misses
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+@State(Scope.Thread)
+public class ConfigManagerBenchmark {
+
+    private ConfigManager config;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = ConfigManager.getInstance();
+    }
+
+    @Benchmark
+    public ConfigManager getInstance() {
+        return ConfigManager.getInstance();
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return config.getProperty("api.timeout");
+    }
+
+    @Benchmark
+    public String getPropertyDefault() {
+        return config.getProperty("benchmark.missing.key", "fallback");
+    }
+
+    @Benchmark
+    public String typedGetter() {
+        return config.getApiBaseUrl();
+    }
+
+    @Benchmark
+    public String getInstanceAndProperty() {
+        return ConfigManager.getInstance().getProperty("api.timeout");
+    }
+
+    /**
+     * Lookups while a per-test environment is bound, as in multi-environment runs
+     */
+    @State(Scope.Thread)
+    public static class BoundContext {
+
+        @Setup(Level.Trial)
+        public void bind() {
+            ConfigContext.activate("bench");
+        }
+
+        @TearDown(Level.Trial)
+        public void unbind() {
+            ConfigContext.clear();
+        }
+    }
+
+    @Benchmark
+    public String getInstanceWithContext(BoundContext context) {
+        return ConfigManager.getInstance().getProperty("api.timeout");
+    }
+}
@@ -0,0 +1,323 @@
+package com.testing.framework.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against a running demo API: at each concurrency level, that many
+ * threads call the {@code UserController} endpoints back to back for a fixed time.
+ * Reports throughput and exact latency percentiles per level, together with the
+ * server's request threading ({@code threads} of {@code GET /health}), so runs with
+ * platform and virtual threads can be compared.
+ *
+ * Not a JMH benchmark: it measures the server, not framework code.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.testing.framework.benchmarks.DemoApiLoadBenchmark \
+ *     --url http://127.0.0.1:8080/api --concurrency 1,16,64,256,1024 --out target/load/platform.json
+ * java -cp benchmarks/target/benchmarks.jar com.testing.framework.benchmarks.DemoApiLoadBenchmark \
+ *     --compare target/load/platform.json target/load/virtual.json
+ * </pre>
+ * {@code demo-app/backend/benchmark.sh} runs both modes and the comparison.
+ */
+public final class DemoApiLoadBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final int BATCH_SIZE = 1000;
+
+    private final String url;
+    private final int users;
+    private final double writeRatio;
+    private final HttpClient client;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private long[] ids;
+    private String[] emails;
+
+    private DemoApiLoadBenchmark(String url, int users, double writeRatio) {
+        this.url = url;
+        this.users = users;
+        this.writeRatio = writeRatio;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    /**
+     * Result of one concurrency level; latencies in milliseconds
+     */
+    record Level(int concurrency, long requests, long errors, double throughput,
+                 double p50Ms, double p95Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        if (options.containsKey("compare")) {
+            compare(Paths.get(options.get("compare")), Paths.get(options.get("with")));
+            return;
+        }
+        DemoApiLoadBenchmark benchmark = new DemoApiLoadBenchmark(
+            options.getOrDefault("url", "http://127.0.0.1:8080/api"),
+            Integer.parseInt(options.getOrDefault("users", "1000")),
+            Double.parseDouble(options.getOrDefault("writes", "0.1")));
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "1,16,64,256,1024").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "10")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "3")));
+
+        Map<String, Object> result = benchmark.run(levels, duration, warmup);
+        Path out = Paths.get(options.getOrDefault("out", "target/load/" + result.get("threads") + ".json"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        MAPPER.writeValue(out.toFile(), result);
+        System.out.println("Results written to " + out);
+    }
+
+    private Map<String, Object> run(int[] levels, Duration duration, Duration warmup) throws Exception {
+        JsonNode health = MAPPER.readTree(send(get("/health")).body());
+        String threads = health.path("threads").asText("unknown");
+        System.out.printf("Demo API at %s, request threads: %s%n", url, threads);
+
+        seed();
+        List<Level> results = new ArrayList<>();
+        try {
+            // Also grows the server's thread pool before the first measurement
+            measure(levels[levels.length - 1], warmup);
+            for (int concurrency : levels) {
+                Level level = measure(concurrency, duration);
+                results.add(level);
+                System.out.printf(Locale.ROOT, "%6d threads: %9.1f req/s  p50 %7.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f ms  errors %d%n",
+                    level.concurrency(), level.throughput(), level.p50Ms(), level.p99Ms(), level.p999Ms(),
+                    level.maxMs(), level.errors());
+            }
+        } finally {
+            cleanUp();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("url", url);
+        result.put("threads", threads);
+        result.put("users", users);
+        result.put("writeRatio", writeRatio);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("levels", results);
+        return result;
+    }
+
+    /**
+     * {@code concurrency} threads calling the API back to back until {@code duration} is over
+     */
+    private Level measure(int concurrency, Duration duration) throws InterruptedException {
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] window = new long[2];
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long[] own = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < window[1]) {
+                    long begin = System.nanoTime();
+                    if (!call()) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == own.length) {
+                        own = Arrays.copyOf(own, own.length * 2);
+                    }
+                    own[count++] = System.nanoTime() - begin;
+                }
+                latencies[worker] = own;
+                counts[worker] = count;
+            }, "load-" + i);
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+        window[0] = System.nanoTime();
+        window[1] = window[0] + duration.toNanos();
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - window[0];
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Level(concurrency, total, errors.get(), total / (elapsed / 1e9),
+            percentileMs(all, 50), percentileMs(all, 95), percentileMs(all, 99), percentileMs(all, 99.9),
+            total == 0 ? 0 : all[total - 1] / 1e6);
+    }
+
+    /**
+     * One operation: mostly reads by ID, email or page; a create followed by a delete
+     * for the {@code writes} share, so the store keeps its size
+     */
+    private boolean call() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            if (random.nextDouble() < writeRatio) {
+                String email = "load-" + runId + "-" + UUID.randomUUID() + "@bench.local";
+                HttpResponse<String> created = send(post("/users", user(email)));
+                if (created.statusCode() != 201) {
+                    return false;
+                }
+                long id = MAPPER.readTree(created.body()).path("id").asLong();
+                return send(delete("/users/" + id)).statusCode() == 204;
+            }
+            int index = random.nextInt(ids.length);
+            return switch (random.nextInt(3)) {
+                case 0 -> send(get("/users/" + ids[index])).statusCode() == 200;
+                case 1 -> send(get("/users/by-email?email=" + emails[index])).statusCode() == 200;
+                default -> send(get("/users?limit=50&cursor=" + ids[index])).statusCode() == 200;
+            };
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        ids = new long[users];
+        emails = new String[users];
+        for (int first = 0; first < users; first += BATCH_SIZE) {
+            StringBuilder body = new StringBuilder("[");
+            int last = Math.min(users, first + BATCH_SIZE);
+            for (int i = first; i < last; i++) {
+                emails[i] = "seed-" + runId + "-" + i + "@bench.local";
+                body.append(i > first ? "," : "").append(user(emails[i]));
+            }
+            HttpResponse<String> response = send(post("/users/batch", body.append(']').toString()));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding users failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : MAPPER.readTree(response.body()).path("results")) {
+                ids[first + item.path("index").asInt()] = item.path("id").asLong();
+            }
+        }
+        System.out.printf("Seeded %d users%n", users);
+    }
+
+    private void cleanUp() throws IOException, InterruptedException {
+        for (int first = 0; first < ids.length; first += BATCH_SIZE) {
+            long[] chunk = Arrays.copyOfRange(ids, first, Math.min(ids.length, first + BATCH_SIZE));
+            send(request("/users/batch").method("DELETE", HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(chunk))).build());
+        }
+    }
+
+    private static String user(String email) {
+        return "{\"name\":\"Load User\",\"email\":\"" + email + "\",\"role\":\"User\"}";
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(url + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json");
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    /**
+     * Side-by-side table of two result files, matched by concurrency level
+     */
+    private static void compare(Path baseline, Path candidate) throws IOException {
+        JsonNode a = MAPPER.readTree(baseline.toFile());
+        JsonNode b = MAPPER.readTree(candidate.toFile());
+        String nameA = a.path("threads").asText();
+        String nameB = b.path("threads").asText();
+        System.out.printf("%11s | %21s | %21s | %25s%n", "", "req/s", "p99 ms", "p99.9 ms");
+        System.out.printf("%11s | %10s %10s | %10s %10s | %12s %12s%n", "concurrency", nameA, nameB, nameA, nameB, nameA, nameB);
+        Map<Integer, JsonNode> candidateLevels = new LinkedHashMap<>();
+        b.path("levels").forEach(level -> candidateLevels.put(level.path("concurrency").asInt(), level));
+        for (JsonNode level : a.path("levels")) {
+            JsonNode other = candidateLevels.get(level.path("concurrency").asInt());
+            if (other == null) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%11d | %10.1f %10.1f | %10.2f %10.2f | %12.2f %12.2f%n",
+                level.path("concurrency").asInt(),
+                level.path("throughput").asDouble(), other.path("throughput").asDouble(),
+                level.path("p99Ms").asDouble(), other.path("p99Ms").asDouble(),
+                level.path("p999Ms").asDouble(), other.path("p999Ms").asDouble());
+        }
+    }
+
+    // --name value pairs; --compare takes two files
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got " + args[i]);
+            }
+            String name = args[i].substring(2);
+            options.put(name, args[++i]);
+            if (name.equals("compare")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("--compare takes two result files");
+                }
+                options.put("with", args[++i]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,122 @@
+package com.testing.framework.benchmarks;
+
+import com.testing.framework.api.client.BaseApiClient;
+import com.testing.framework.core.logging.Slf4jPrintStream;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Overhead of the RestAssured filter chain against a local stub server.
+ *
+ * {@code bare} has no filters, {@code logging} adds the request/response logging
+ * filters and {@code frameworkSpec} uses the full {@link BaseApiClient} specification
+ * (logging, Allure attachments). Allure results are discarded, so attachment creation
+ * is measured without disk I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Denv=bench")
+@State(Scope.Thread)
+public class FilterChainBenchmark {
+
+    /**
+     * Allure writer that drops everything
+     */
+    static class DiscardingResultsWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try (attachment) {
+                attachment.transferTo(OutputStreamHolder.NULL);
+            } catch (IOException e) {
+                // Discarded anyway
+            }
+        }
+    }
+
+    private static final class OutputStreamHolder {
+        private static final java.io.OutputStream NULL = java.io.OutputStream.nullOutputStream();
+    }
+
+    static class SpecClient extends BaseApiClient {
+        RequestSpecification spec() {
+            return requestSpec;
+        }
+    }
+
+    private StubServer stub;
+    private RequestSpecification bareSpec;
+    private RequestSpecification loggingSpec;
+    private RequestSpecification frameworkSpec;
+    private String testUuid;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = StubServer.start();
+        Allure.setLifecycle(new AllureLifecycle(new DiscardingResultsWriter()));
+        // AllureRestAssured only attaches while a test case is running on this thread
+        testUuid = UUID.randomUUID().toString();
+        Allure.getLifecycle().scheduleTestCase(new TestResult().setUuid(testUuid).setName("filter-chain"));
+        Allure.getLifecycle().startTestCase(testUuid);
+
+        bareSpec = new RequestSpecBuilder()
+            .setBaseUri(stub.baseUrl())
+            .setContentType(ContentType.JSON)
+            .setAccept(ContentType.JSON)
+            .build();
+        loggingSpec = new RequestSpecBuilder()
+            .addRequestSpecification(bareSpec)
+            .addFilter(new RequestLoggingFilter(Slf4jPrintStream.forLogger("io.restassured.request")))
+            .addFilter(new ResponseLoggingFilter(Slf4jPrintStream.forLogger("io.restassured.response")))
+            .build();
+        frameworkSpec = new SpecClient().spec();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Allure.getLifecycle().stopTestCase(testUuid);
+        Allure.getLifecycle().writeTestCase(testUuid);
+        stub.close();
+    }
+
+    @Benchmark
+    public int bare() {
+        return given(bareSpec).get("/health").statusCode();
+    }
+
+    @Benchmark
+    public int logging() {
+        return given(loggingSpec).get("/health").statusCode();
+    }
+
+    @Benchmark
+    public int frameworkSpec() {
+        return given(frameworkSpec).get("/health").statusCode();
+    }
+}
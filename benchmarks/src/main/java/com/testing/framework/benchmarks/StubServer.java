@@ -0,0 +1,62 @@
+package com.testing.framework.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP stub answering every request with a small JSON body, so request
+ * benchmarks measure the client side rather than a real backend
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final byte[] BODY = "{\"status\":\"UP\",\"id\":1,\"name\":\"Bench User\"}"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private StubServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Start on an ephemeral port and point {@code api.base.url} at it; call before the
+     * configuration is first loaded
+     */
+    static StubServer start() throws IOException {
+        // Without TCP_NODELAY small responses wait on delayed ACKs and dominate the timings
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        StubServer stub = new StubServer(server);
+        System.setProperty("api.base.url", stub.baseUrl());
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,60 @@
+#!/bin/bash
+
+# Load benchmark of the demo API: platform vs. virtual request threads
+# (see DemoApiLoadBenchmark in benchmarks/). Needs Java 21 for the virtual-thread run;
+# on older JDKs only the platform run is made.
+
+set -e
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+PORT="${PORT:-18080}"
+OUT="${OUT:-$ROOT/demo-app/backend/target/load}"
+# Extra driver options, e.g. "--concurrency 1,64,512 --duration 20 --writes 0.2"
+LOAD_OPTS="${LOAD_OPTS:-}"
+# Extra server options, e.g. "--demo.persistence.dir=/tmp/demo-data --demo.persistence.fsync=true"
+SERVER_OPTS="${SERVER_OPTS:-}"
+
+JAVA_FEATURE=$(java -XshowSettings:properties -version 2>&1 | awk -F' = ' '/java.specification.version/ {print $2}')
+MODES="platform"
+PROFILE=""
+if [ "$JAVA_FEATURE" -ge 21 ]; then
+    MODES="platform virtual"
+    PROFILE="-Pjava21"
+else
+    echo -e "${YELLOW}Java $JAVA_FEATURE: virtual threads need Java 21, running the platform mode only${NC}"
+fi
+
+echo -e "${GREEN}Building the demo API and the load driver...${NC}"
+mvn -q -f "$ROOT/demo-app/backend/pom.xml" $PROFILE package -DskipTests
+mvn -q -f "$ROOT/pom.xml" install -DskipTests
+mvn -q -f "$ROOT/benchmarks/pom.xml" package
+
+mkdir -p "$OUT"
+for MODE in $MODES; do
+    VIRTUAL=false
+    [ "$MODE" = "virtual" ] && VIRTUAL=true
+    echo -e "${GREEN}=== $MODE threads ===${NC}"
+    java -jar "$ROOT/demo-app/backend/target/demo-api-1.0.0.jar" \
+        --server.port="$PORT" --spring.threads.virtual.enabled="$VIRTUAL" $SERVER_OPTS \
+        > "$OUT/server-$MODE.log" 2>&1 &
+    SERVER_PID=$!
+    trap 'kill $SERVER_PID 2>/dev/null || true' EXIT
+    until curl -sf "http://127.0.0.1:$PORT/api/health" > /dev/null; do
+        kill -0 $SERVER_PID 2>/dev/null || { echo "Server failed to start, see $OUT/server-$MODE.log"; exit 1; }
+        sleep 1
+    done
+    java -cp "$ROOT/benchmarks/target/benchmarks.jar" com.testing.framework.benchmarks.DemoApiLoadBenchmark \
+        --url "http://127.0.0.1:$PORT/api" --out "$OUT/$MODE.json" $LOAD_OPTS
+    kill $SERVER_PID
+    wait $SERVER_PID 2>/dev/null || true
+done
+
+if [ -f "$OUT/virtual.json" ]; then
+    echo -e "${GREEN}=== Comparison ===${NC}"
+    java -cp "$ROOT/benchmarks/target/benchmarks.jar" com.testing.framework.benchmarks.DemoApiLoadBenchmark \
+        --compare "$OUT/platform.json" "$OUT/virtual.json"
+fi
@@ -0,0 +1,31 @@
+package com.demo;
+
+import com.demo.model.User;
+import com.demo.store.UserStore;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Initialize the store with some demo users, unless it was loaded from disk, and save
+ * the result as the {@value UserStore#INITIAL_SNAPSHOT} snapshot new tenants start from
+ */
+@Component
+public class DemoDataSeeder implements ApplicationRunner {
+
+    private final UserStore store;
+
+    public DemoDataSeeder(UserStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (store.isEmpty()) {
+            store.create(new User(null, "John Doe", "john@example.com", "Admin"));
+            store.create(new User(null, "Jane Smith", "jane@example.com", "User"));
+            store.create(new User(null, "Bob Johnson", "bob@example.com", "User"));
+        }
+        store.snapshot(UserStore.INITIAL_SNAPSHOT);
+    }
+}
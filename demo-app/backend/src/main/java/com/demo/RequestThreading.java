@@ -0,0 +1,39 @@
+package com.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which threads handle requests: Tomcat's platform thread pool (default) or one virtual
+ * thread per request with {@code spring.threads.virtual.enabled=true}, which Spring Boot
+ * only honours on Java 21+ (build with {@code -Pjava21})
+ */
+@Component
+public class RequestThreading {
+
+    public static final String PROPERTY = "spring.threads.virtual.enabled";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestThreading.class);
+
+    private final boolean virtual;
+
+    public RequestThreading(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        if (virtual) {
+            logger.info("Handling requests on virtual threads");
+        } else if (environment.getProperty(PROPERTY, Boolean.class, false)) {
+            logger.warn("{}=true needs Java 21 or later (running {}); using the platform thread pool",
+                PROPERTY, Runtime.version().feature());
+        }
+    }
+
+    /**
+     * {@code virtual} or {@code platform}, as reported by GET /api/health
+     */
+    public String mode() {
+        return virtual ? "virtual" : "platform";
+    }
+}
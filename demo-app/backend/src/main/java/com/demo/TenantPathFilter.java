@@ -0,0 +1,51 @@
+package com.demo;
+
+import com.demo.store.TenantStores;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code /api/tenants/{tenant}/...} as {@code /api/...} against that tenant's
+ * store: every endpoint, admin ones included, is available per tenant without
+ * mapping it twice.
+ */
+@Component
+public class TenantPathFilter extends OncePerRequestFilter {
+
+    private static final Pattern TENANT_PATH = Pattern.compile("^/api/tenants/([^/]+)(/.+)$");
+
+    private final TenantStores tenants;
+
+    public TenantPathFilter(TenantStores tenants) {
+        this.tenants = tenants;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Matcher matcher = TENANT_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String tenant = matcher.group(1);
+        if (!tenants.exists(tenant)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Unknown tenant\"}");
+            return;
+        }
+        request.setAttribute(TenantStores.TENANT_ATTRIBUTE, tenant);
+        request.getRequestDispatcher("/api" + matcher.group(2)).forward(request, response);
+    }
+}
@@ -0,0 +1,126 @@
+package com.demo.controller;
+
+import com.demo.store.TenantStores;
+import com.demo.store.UserPersistence;
+import com.demo.store.UserStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operational endpoints for test environments.
+ *
+ * Snapshot endpoints act on the store of the addressed tenant (the default store
+ * unless called under {@code /api/tenants/{tenant}}); snapshots are kept in memory.
+ * Tenants start from a snapshot of the store the request addresses.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*", exposedHeaders = "Location")
+public class AdminController {
+
+    private final TenantStores tenants;
+    private final UserPersistence persistence;
+
+    public AdminController(TenantStores tenants, UserPersistence persistence) {
+        this.tenants = tenants;
+        this.persistence = persistence;
+    }
+
+    @GetMapping("/snapshots")
+    public Set<String> snapshots() {
+        return tenants.current().snapshotNames();
+    }
+
+    /**
+     * Save the current users under {@code name} (O(1), shares structure with the live users)
+     */
+    @PutMapping("/snapshots/{name}")
+    public ResponseEntity<Map<String, Object>> snapshot(@PathVariable String name) {
+        if (!TenantStores.isValidName(name)) {
+            return invalidName(name);
+        }
+        long revision = tenants.current().snapshot(name);
+        return ResponseEntity.ok(Map.of("name", name, "revision", revision));
+    }
+
+    /**
+     * Go back to a snapshot (O(1)); the snapshot stays available for further resets
+     */
+    @PostMapping("/snapshots/{name}/reset")
+    public ResponseEntity<Map<String, Object>> reset(@PathVariable String name) {
+        if (!tenants.current().reset(name)) {
+            return notFound("Unknown snapshot: " + name);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/snapshots/{name}")
+    public ResponseEntity<Map<String, Object>> dropSnapshot(@PathVariable String name) {
+        if (!tenants.current().dropSnapshot(name)) {
+            return notFound("Unknown snapshot: " + name);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Create a tenant from a snapshot ({@value UserStore#INITIAL_SNAPSHOT} by default);
+     * the {@code Location} header is its API base URL
+     */
+    @PutMapping("/tenants/{tenant}")
+    public ResponseEntity<Map<String, Object>> createTenant(
+            @PathVariable String tenant,
+            @RequestParam(defaultValue = UserStore.INITIAL_SNAPSHOT) String from) {
+        if (!TenantStores.isValidName(tenant)) {
+            return invalidName(tenant);
+        }
+        try {
+            if (!tenants.create(tenant, tenants.current(), from)) {
+                return notFound("Unknown snapshot: " + from);
+            }
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/tenants/{tenant}")
+            .buildAndExpand(tenant)
+            .toUri();
+        return ResponseEntity.created(location).body(Map.of("tenant", tenant, "snapshot", from));
+    }
+
+    @DeleteMapping("/tenants/{tenant}")
+    public ResponseEntity<Map<String, Object>> deleteTenant(@PathVariable String tenant) {
+        if (!tenants.delete(tenant)) {
+            return notFound("Unknown tenant: " + tenant);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Write a user store snapshot to disk now, e.g. to keep it as a restore point
+     * ({@code demo.persistence.restore-from}); 404 when persistence is disabled.
+     * Only the default store is persisted.
+     */
+    @PostMapping("/persistence/snapshot")
+    public ResponseEntity<?> persistenceSnapshot() throws IOException {
+        if (!persistence.isEnabled()) {
+            return notFound("Persistence is disabled (demo.persistence.dir is not set)");
+        }
+        return ResponseEntity.ok(persistence.snapshot());
+    }
+
+    private static ResponseEntity<Map<String, Object>> notFound(String error) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", error));
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalidName(String name) {
+        return ResponseEntity.badRequest()
+            .body(Map.of("error", "Invalid name (letters, digits, '-' and '_', up to 64): " + name));
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.controller;
+
+import com.demo.metrics.RouteMetrics;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Server-side request metrics: Prometheus text format, or JSON with {@code format=json}
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private final RouteMetrics metrics;
+
+    public MetricsController(RouteMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @GetMapping
+    public ResponseEntity<String> prometheus() {
+        return ResponseEntity.ok()
+            .contentType(PROMETHEUS)
+            .cacheControl(CacheControl.noStore())
+            .body(metrics.toPrometheus());
+    }
+
+    @GetMapping(params = "format=json")
+    public ResponseEntity<Map<String, Object>> json() {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(metrics.toJson());
+    }
+}
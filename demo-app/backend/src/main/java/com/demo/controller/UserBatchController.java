@@ -0,0 +1,79 @@
+package com.demo.controller;
+
+import com.demo.model.BatchResponse;
+import com.demo.model.User;
+import com.demo.store.TenantStores;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk create, update and delete for seeding test data in one request.
+ *
+ * Bodies are a JSON array or NDJSON (one value per line), read as a stream; more
+ * than {@value #MAX_BATCH_SIZE} items are rejected with 413. Each item gets its
+ * own result with the status it would have had as a single request.
+ */
+@RestController
+@RequestMapping("/api/users/batch")
+@CrossOrigin(origins = "*")
+public class UserBatchController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final TenantStores tenants;
+    private final ObjectMapper objectMapper;
+
+    public UserBatchController(TenantStores tenants, ObjectMapper objectMapper) {
+        this.tenants = tenants;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = {"application/json", "application/x-ndjson"})
+    public BatchResponse createUsers(InputStream body) throws IOException {
+        return BatchResponse.of(tenants.current().createAll(read(body, User.class)));
+    }
+
+    @PutMapping(consumes = {"application/json", "application/x-ndjson"})
+    public BatchResponse updateUsers(InputStream body) throws IOException {
+        return BatchResponse.of(tenants.current().updateAll(read(body, User.class)));
+    }
+
+    /**
+     * Body: user IDs
+     */
+    @DeleteMapping(consumes = {"application/json", "application/x-ndjson"})
+    public BatchResponse deleteUsers(InputStream body) throws IOException {
+        return BatchResponse.of(tenants.current().deleteAll(read(body, Long.class)));
+    }
+
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Map<String, String>> malformed(JsonProcessingException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Malformed batch: " + e.getOriginalMessage()));
+    }
+
+    // Jackson unwraps a top-level array and reads NDJSON as a sequence of root values
+    private <T> List<T> read(InputStream body, Class<T> type) throws IOException {
+        List<T> items = new ArrayList<>();
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == MAX_BATCH_SIZE) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Batches are limited to " + MAX_BATCH_SIZE + " items");
+                }
+                items.add(iterator.nextValue());
+            }
+        }
+        return items;
+    }
+}
@@ -1,74 +1,149 @@
 package com.demo.controller;
 
+import com.demo.RequestThreading;
 import com.demo.model.User;
+import com.demo.store.DuplicateEmailException;
+import com.demo.store.TenantStores;
+import com.demo.store.UserStore;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {UserController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class UserController {
 
-    private final Map<Long, User> users = new ConcurrentHashMap<>();
-    private final AtomicLong idCounter = new AtomicLong(1);
+    /** Cursor for the next page of GET /users; absent on the last page */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
 
-    public UserController() {
-        // Initialize with some demo users
-        users.put(1L, new User(1L, "John Doe", "john@example.com", "Admin"));
-        users.put(2L, new User(2L, "Jane Smith", "jane@example.com", "User"));
-        users.put(3L, new User(3L, "Bob Johnson", "bob@example.com", "User"));
-        idCounter.set(4);
+    private final TenantStores tenants;
+    private final RequestThreading threading;
+
+    public UserController(TenantStores tenants, RequestThreading threading) {
+        this.tenants = tenants;
+        this.threading = threading;
     }
 
+    /**
+     * One page of users ordered by ID. {@code cursor} is the {@code X-Next-Cursor}
+     * of the previous page; {@code role} matches exactly and {@code name} as a
+     * substring, both ignoring case.
+     *
+     * Pages carry the collection ETag, so a matching {@code If-None-Match} gets a 304
+     * before the page is even built.
+     */
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(new ArrayList<>(users.values()));
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String name,
+            WebRequest request) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = collectionETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        String nameFilter = name == null || name.isBlank() ? null : name.toLowerCase(Locale.ROOT);
+        return pageResponse(tenants.current().page(cursor, limit, role, nameFilter), etag);
     }
 
-    @GetMapping("/users/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        User user = users.get(id);
-        if (user != null) {
-            return ResponseEntity.ok(user);
+    @GetMapping("/users/by-email")
+    public ResponseEntity<User> getUserByEmail(@RequestParam String email, WebRequest request) {
+        return userResponse(tenants.current().findByEmail(email), request);
+    }
+
+    @GetMapping("/roles/{role}/users")
+    public ResponseEntity<List<User>> getUsersByRole(
+            @PathVariable String role,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.notFound().build();
+        String etag = collectionETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return pageResponse(tenants.current().page(cursor, limit, role, null), etag);
+    }
+
+    @GetMapping("/users/{id}")
+    public ResponseEntity<User> getUserById(@PathVariable Long id, WebRequest request) {
+        return userResponse(tenants.current().get(id), request);
     }
 
     @PostMapping("/users")
     public ResponseEntity<User> createUser(@RequestBody User user) {
-        Long id = idCounter.getAndIncrement();
-        user.setId(id);
-        users.put(id, user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(user);
+        User created = tenants.current().create(user);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(userETag(created)).body(created);
     }
 
     @PutMapping("/users/{id}")
     public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User updatedUser) {
-        if (users.containsKey(id)) {
-            updatedUser.setId(id);
-            users.put(id, updatedUser);
-            return ResponseEntity.ok(updatedUser);
-        }
-        return ResponseEntity.notFound().build();
+        return tenants.current().update(id, updatedUser)
+            .map(user -> ResponseEntity.ok().eTag(userETag(user)).body(user))
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/users/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        if (users.remove(id) != null) {
+        if (tenants.current().delete(id)) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
 
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<Map<String, String>> duplicateEmail(DuplicateEmailException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+
+    // Read before the page is built: a write racing with it can only make the ETag older
+    private String collectionETag() {
+        return "\"users-" + tenants.current().revision() + "\"";
+    }
+
+    private static String userETag(User user) {
+        return "\"user-" + user.getId() + "-" + user.getVersion() + "\"";
+    }
+
+    private static ResponseEntity<List<User>> pageResponse(UserStore.Page page, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache());
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.users());
+    }
+
+    private static ResponseEntity<User> userResponse(Optional<User> user, WebRequest request) {
+        if (user.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = userETag(user.get());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(user.get());
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
         Map<String, String> response = new HashMap<>();
         response.put("status", "UP");
+        response.put("threads", threading.mode());
         response.put("timestamp", new Date().toString());
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,82 @@
+package com.demo.controller;
+
+import com.demo.model.User;
+import com.demo.store.TenantStores;
+import com.demo.store.UserStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * All users as NDJSON (one user per line, in ID order), written while they are read.
+ *
+ * Users are fetched {@value #CHUNK_SIZE} at a time and each chunk is flushed, so memory
+ * use does not grow with the number of users and a slow client simply blocks the
+ * writer. Clients sending {@code Accept-Encoding: gzip} get a gzip stream, flushed
+ * per chunk as well. The export is weakly consistent: users that exist for its whole
+ * duration appear exactly once, concurrent changes may or may not.
+ */
+@RestController
+@RequestMapping("/api/users/export")
+@CrossOrigin(origins = "*")
+public class UserExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final TenantStores tenants;
+    private final ObjectWriter userWriter;
+
+    public UserExportController(TenantStores tenants, ObjectMapper objectMapper) {
+        this.tenants = tenants;
+        this.userWriter = objectMapper.writerFor(User.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param role only users with this role (exact, case-insensitive)
+     */
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String role,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Resolved here: the body is written on another thread, outside the request scope
+        UserStore store = tenants.current();
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, NDJSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .cacheControl(CacheControl.noStore());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> write(store, role, gzip ? new GZIPOutputStream(out, 8192, true) : out));
+    }
+
+    private void write(UserStore store, String role, OutputStream out) throws IOException {
+        try (JsonGenerator generator = userWriter.createGenerator(out)) {
+            // One value per line instead of Jackson's space-separated root values
+            generator.setRootValueSeparator(null);
+            Long cursor = null;
+            do {
+                UserStore.Page page = store.page(cursor, CHUNK_SIZE, role, null);
+                for (User user : page.users()) {
+                    userWriter.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        }
+    }
+}
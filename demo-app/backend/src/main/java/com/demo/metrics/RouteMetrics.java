@@ -0,0 +1,158 @@
+package com.demo.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route request counters and latency histograms, written by {@link RequestMetricsFilter}.
+ *
+ * Recording is lock-free: adders and atomic arrays per route, looked up in a
+ * concurrent map keyed by method and route pattern (not the concrete path, so the
+ * number of series stays bounded).
+ */
+@Component
+public class RouteMetrics {
+
+    /** Route label of requests no handler matched (404s, static resources) */
+    public static final String UNMATCHED = "unmatched";
+
+    private static final class Route {
+        final String method;
+        final String pattern;
+        final LongAdder requests = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        Route(String method, String pattern) {
+            this.method = method;
+            this.pattern = pattern;
+        }
+    }
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    public void requestFinished(String method, String pattern, int status, long nanos) {
+        inFlight.decrement();
+        String key = method + " " + pattern;
+        Route route = routes.get(key);
+        if (route == null) {
+            route = routes.computeIfAbsent(key, k -> new Route(method, pattern));
+        }
+        route.requests.increment();
+        if (status >= 500) {
+            route.serverErrors.increment();
+        } else if (status >= 400) {
+            route.clientErrors.increment();
+        }
+        route.latency.record(nanos / 1_000);
+    }
+
+    public long inFlight() {
+        return inFlight.sum();
+    }
+
+    public Map<String, Object> toJson() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Route route : sortedRoutes()) {
+            long[] counts = route.latency.getCounts();
+            long max = route.latency.getMaxMicros();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("method", route.method);
+            map.put("route", route.pattern);
+            map.put("requests", route.requests.sum());
+            map.put("clientErrors", route.clientErrors.sum());
+            map.put("serverErrors", route.serverErrors.sum());
+            map.put("counts", Arrays.stream(counts).boxed().toList());
+            map.put("sumMicros", route.latency.getSumMicros());
+            map.put("maxMicros", max);
+            map.put("p50Micros", LatencyHistogram.percentileMicros(counts, max, 50));
+            map.put("p95Micros", LatencyHistogram.percentileMicros(counts, max, 95));
+            map.put("p99Micros", LatencyHistogram.percentileMicros(counts, max, 99));
+            list.add(map);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("inFlight", inFlight());
+        json.put("boundsMicros", Arrays.stream(LatencyHistogram.BOUNDS_MICROS).boxed().toList());
+        json.put("routes", list);
+        return json;
+    }
+
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP demo_http_requests_in_flight Requests being processed\n");
+        out.append("# TYPE demo_http_requests_in_flight gauge\n");
+        out.append("demo_http_requests_in_flight ").append(inFlight()).append('\n');
+
+        List<Route> sorted = sortedRoutes();
+        out.append("# HELP demo_http_requests_total Completed requests\n");
+        out.append("# TYPE demo_http_requests_total counter\n");
+        for (Route route : sorted) {
+            out.append("demo_http_requests_total{").append(labels(route)).append("} ")
+                .append(route.requests.sum()).append('\n');
+        }
+
+        out.append("# HELP demo_http_request_errors_total Requests answered with 4xx (client) or 5xx (server)\n");
+        out.append("# TYPE demo_http_request_errors_total counter\n");
+        for (Route route : sorted) {
+            out.append("demo_http_request_errors_total{").append(labels(route)).append(",class=\"client\"} ")
+                .append(route.clientErrors.sum()).append('\n');
+            out.append("demo_http_request_errors_total{").append(labels(route)).append(",class=\"server\"} ")
+                .append(route.serverErrors.sum()).append('\n');
+        }
+
+        out.append("# HELP demo_http_request_duration_seconds Request latency, until the response is complete\n");
+        out.append("# TYPE demo_http_request_duration_seconds histogram\n");
+        for (Route route : sorted) {
+            String labels = labels(route);
+            long[] counts = route.latency.getCounts();
+            long cumulative = 0;
+            for (int i = 0; i < LatencyHistogram.BOUNDS_MICROS.length; i++) {
+                cumulative += counts[i];
+                out.append("demo_http_request_duration_seconds_bucket{").append(labels)
+                    .append(",le=\"").append(seconds(LatencyHistogram.BOUNDS_MICROS[i])).append("\"} ")
+                    .append(cumulative).append('\n');
+            }
+            cumulative += counts[counts.length - 1];
+            out.append("demo_http_request_duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                .append(cumulative).append('\n');
+            out.append("demo_http_request_duration_seconds_sum{").append(labels).append("} ")
+                .append(seconds(route.latency.getSumMicros())).append('\n');
+            out.append("demo_http_request_duration_seconds_count{").append(labels).append("} ")
+                .append(cumulative).append('\n');
+        }
+        return out.toString();
+    }
+
+    private List<Route> sortedRoutes() {
+        List<Route> sorted = new ArrayList<>(routes.values());
+        sorted.sort(Comparator.comparing((Route route) -> route.pattern).thenComparing(route -> route.method));
+        return sorted;
+    }
+
+    private static String labels(Route route) {
+        return "method=\"" + route.method + "\",route=\"" + escape(route.pattern) + "\"";
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,23 @@
+package com.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request: its position in the request, the HTTP
+ * status it would have had as a single request, and the user ID or error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, int status, Long id, String error) {
+
+    public static BatchItemResult ok(int index, int status, long id) {
+        return new BatchItemResult(index, status, id, null);
+    }
+
+    public static BatchItemResult failed(int index, int status, Long id, String error) {
+        return new BatchItemResult(index, status, id, error);
+    }
+
+    public boolean succeeded() {
+        return status < 300;
+    }
+}
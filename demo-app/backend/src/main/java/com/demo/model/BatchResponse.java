@@ -0,0 +1,11 @@
+package com.demo.model;
+
+import java.util.List;
+
+public record BatchResponse(int succeeded, int failed, List<BatchItemResult> results) {
+
+    public static BatchResponse of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::succeeded).count();
+        return new BatchResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -1,10 +1,15 @@
 package com.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class User {
     private Long id;
     private String name;
     private String email;
     private String role;
+    // Store revision of the last write; sent as the ETag, not in the body
+    @JsonIgnore
+    private long version;
 
     public User() {}
 
@@ -46,4 +51,12 @@ public class User {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
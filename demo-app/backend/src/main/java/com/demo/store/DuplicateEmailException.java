@@ -0,0 +1,11 @@
+package com.demo.store;
+
+/**
+ * Thrown when a create or update would give two users the same email
+ */
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("Email already in use: " + email);
+    }
+}
@@ -0,0 +1,42 @@
+package com.demo.store;
+
+import com.demo.model.User;
+
+/**
+ * Receives every change of the {@link UserStore}, in order, while the store's write
+ * lock is held. {@link #commit()} ends each store operation (a batch is one operation).
+ */
+interface MutationLog {
+
+    MutationLog NONE = new MutationLog() {
+        @Override
+        public void put(User user) {
+        }
+
+        @Override
+        public void delete(long id, long revision) {
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void replaced() {
+        }
+    };
+
+    /**
+     * A user was created or replaced; its version is the new store revision
+     */
+    void put(User user);
+
+    void delete(long id, long revision);
+
+    void commit();
+
+    /**
+     * The whole content was replaced at once (reset to a named snapshot)
+     */
+    void replaced();
+}
@@ -0,0 +1,196 @@
+package com.demo.store;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Immutable sorted map (an AVL tree). Every update returns a new map that shares all
+ * nodes with the old one except the O(log n) on the path to the changed key, so
+ * keeping an old version around costs nothing and never sees later updates.
+ */
+final class PersistentSortedMap<K extends Comparable<K>, V> {
+
+    private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<>(null, 0);
+
+    private record Node<K, V>(K key, V value, Node<K, V> left, Node<K, V> right, int height) {}
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentSortedMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int order = key.compareTo(node.key());
+            if (order == 0) {
+                return node.value();
+            }
+            node = order < 0 ? node.left() : node.right();
+        }
+        return null;
+    }
+
+    PersistentSortedMap<K, V> put(K key, V value) {
+        boolean[] added = {false};
+        return new PersistentSortedMap<>(put(root, key, value, added), added[0] ? size + 1 : size);
+    }
+
+    PersistentSortedMap<K, V> remove(K key) {
+        boolean[] removed = {false};
+        Node<K, V> updated = remove(root, key, removed);
+        return removed[0] ? new PersistentSortedMap<>(updated, size - 1) : this;
+    }
+
+    /**
+     * Keys in ascending order after {@code after} (exclusive), or all keys when it is null
+     */
+    Iterable<K> keysAfter(K after) {
+        return () -> iterator(after, Node::key);
+    }
+
+    /**
+     * Values in ascending key order
+     */
+    Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return PersistentSortedMap.this.iterator(null, Node::value);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private <T> Iterator<T> iterator(K after, Function<Node<K, V>, T> element) {
+        Deque<Node<K, V>> path = new ArrayDeque<>();
+        for (Node<K, V> node = root; node != null; ) {
+            if (after == null || node.key().compareTo(after) > 0) {
+                path.push(node);
+                node = node.left();
+            } else {
+                node = node.right();
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<K, V> next = path.pop();
+                for (Node<K, V> node = next.right(); node != null; node = node.left()) {
+                    path.push(node);
+                }
+                return element.apply(next);
+            }
+        };
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> put(Node<K, V> node, K key, V value, boolean[] added) {
+        if (node == null) {
+            added[0] = true;
+            return new Node<>(key, value, null, null, 1);
+        }
+        int order = key.compareTo(node.key());
+        if (order < 0) {
+            return balance(node.key(), node.value(), put(node.left(), key, value, added), node.right());
+        }
+        if (order > 0) {
+            return balance(node.key(), node.value(), node.left(), put(node.right(), key, value, added));
+        }
+        return new Node<>(key, value, node.left(), node.right(), node.height());
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> remove(Node<K, V> node, K key, boolean[] removed) {
+        if (node == null) {
+            return null;
+        }
+        int order = key.compareTo(node.key());
+        if (order < 0) {
+            Node<K, V> left = remove(node.left(), key, removed);
+            return left == node.left() ? node : balance(node.key(), node.value(), left, node.right());
+        }
+        if (order > 0) {
+            Node<K, V> right = remove(node.right(), key, removed);
+            return right == node.right() ? node : balance(node.key(), node.value(), node.left(), right);
+        }
+        removed[0] = true;
+        if (node.left() == null) {
+            return node.right();
+        }
+        if (node.right() == null) {
+            return node.left();
+        }
+        Node<K, V> successor = node.right();
+        while (successor.left() != null) {
+            successor = successor.left();
+        }
+        return balance(successor.key(), successor.value(), node.left(), removeFirst(node.right()));
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> removeFirst(Node<K, V> node) {
+        if (node.left() == null) {
+            return node.right();
+        }
+        return balance(node.key(), node.value(), removeFirst(node.left()), node.right());
+    }
+
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left()) >= height(left.right())) {
+                return node(left.key(), left.value(), left.left(), node(key, value, left.right(), right));
+            }
+            Node<K, V> pivot = left.right();
+            return node(pivot.key(), pivot.value(),
+                node(left.key(), left.value(), left.left(), pivot.left()), node(key, value, pivot.right(), right));
+        }
+        if (height(right) > height(left) + 1) {
+            if (height(right.right()) >= height(right.left())) {
+                return node(right.key(), right.value(), node(key, value, left, right.left()), right.right());
+            }
+            Node<K, V> pivot = right.left();
+            return node(pivot.key(), pivot.value(),
+                node(key, value, left, pivot.left()), node(right.key(), right.value(), pivot.right(), right.right()));
+        }
+        return node(key, value, left, right);
+    }
+
+    private static <K, V> Node<K, V> node(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(key, value, left, right, Math.max(height(left), height(right)) + 1);
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height();
+    }
+}
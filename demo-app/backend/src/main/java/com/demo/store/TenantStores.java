@@ -0,0 +1,80 @@
+package com.demo.store;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The default user store plus any number of isolated tenant stores.
+ *
+ * A tenant is addressed by a path prefix ({@code /api/tenants/{tenant}/users}, see
+ * {@link com.demo.TenantPathFilter}) and starts as a fork sharing the data of a named
+ * snapshot, so creating one costs the same for three users as for a million. Tenants
+ * live in memory only.
+ */
+@Component
+public class TenantStores {
+
+    /** Request attribute holding the tenant of the current request */
+    public static final String TENANT_ATTRIBUTE = TenantStores.class.getName() + ".tenant";
+    private static final Pattern TENANT_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final UserStore defaultStore;
+    private final Map<String, UserStore> tenants = new ConcurrentHashMap<>();
+
+    public TenantStores(UserStore defaultStore) {
+        this.defaultStore = defaultStore;
+    }
+
+    /**
+     * Store of the tenant the current request addresses, or the default store
+     */
+    public UserStore current() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Object tenant = request == null ? null : request.getAttribute(TENANT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tenant == null) {
+            return defaultStore;
+        }
+        UserStore store = tenants.get((String) tenant);
+        if (store == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown tenant: " + tenant);
+        }
+        return store;
+    }
+
+    public boolean exists(String tenant) {
+        return tenants.containsKey(tenant);
+    }
+
+    public static boolean isValidName(String tenant) {
+        return TENANT_NAME.matcher(tenant).matches();
+    }
+
+    /**
+     * Create a tenant from a snapshot of {@code source}
+     *
+     * @return false if there is no such snapshot
+     * @throws IllegalStateException if the tenant already exists
+     */
+    public boolean create(String tenant, UserStore source, String snapshot) {
+        Optional<UserStore> fork = source.fork(snapshot);
+        if (fork.isEmpty()) {
+            return false;
+        }
+        if (tenants.putIfAbsent(tenant, fork.get()) != null) {
+            throw new IllegalStateException("Tenant already exists: " + tenant);
+        }
+        return true;
+    }
+
+    public boolean delete(String tenant) {
+        return tenants.remove(tenant) != null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.store;
+
+import com.demo.model.User;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary layout of a user shared by snapshots and the journal:
+ * id, version, then name, email and role as length-prefixed UTF-8 (-1 for null).
+ */
+final class UserCodec {
+
+    private UserCodec() {
+    }
+
+    static void write(DataOutput out, User user) throws IOException {
+        out.writeLong(user.getId());
+        out.writeLong(user.getVersion());
+        writeString(out, user.getName());
+        writeString(out, user.getEmail());
+        writeString(out, user.getRole());
+    }
+
+    static User read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        User user = new User(id, readString(buffer), readString(buffer), readString(buffer));
+        user.setVersion(version);
+        return user;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
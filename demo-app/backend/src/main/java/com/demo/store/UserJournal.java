@@ -0,0 +1,158 @@
+package com.demo.store;
+
+import com.demo.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of store mutations since the last snapshot.
+ *
+ * Each record is framed as length, payload and CRC32 of the payload; the payload is a
+ * type byte, the store revision after the change and the user ({@link UserCodec}) or
+ * the deleted ID. Records are buffered per store operation and written with one call
+ * on {@link #flush()}. A torn or corrupt tail (crash mid-write) ends the replay and is
+ * cut off.
+ */
+final class UserJournal implements AutoCloseable {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    /**
+     * Receives replayed records in order
+     */
+    interface Replay {
+        void put(User user);
+
+        void delete(long id, long revision);
+    }
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(4096);
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final CRC32 crc = new CRC32();
+
+    private UserJournal(FileChannel channel, boolean fsync) {
+        this.channel = channel;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Replay the journal at {@code file} (if any), cut off a damaged tail and open it for appending
+     */
+    static UserJournal open(Path file, boolean fsync, Replay replay) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long valid = replay(channel, replay);
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            return new UserJournal(channel, fsync);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    void put(User user) throws IOException {
+        record.reset();
+        recordOut.writeByte(PUT);
+        recordOut.writeLong(user.getVersion());
+        UserCodec.write(recordOut, user);
+        frame();
+    }
+
+    void delete(long id, long revision) throws IOException {
+        record.reset();
+        recordOut.writeByte(DELETE);
+        recordOut.writeLong(revision);
+        recordOut.writeLong(id);
+        frame();
+    }
+
+    /**
+     * Write the records of the current operation
+     */
+    void flush() throws IOException {
+        if (pending.size() == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        pending.reset();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Drop all records, once a snapshot covers them
+     */
+    void truncate() throws IOException {
+        pending.reset();
+        channel.truncate(0);
+        channel.position(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void frame() throws IOException {
+        crc.reset();
+        crc.update(record.toByteArray());
+        pendingOut.writeInt(record.size());
+        record.writeTo(pendingOut);
+        pendingOut.writeInt((int) crc.getValue());
+    }
+
+    private static long replay(FileChannel channel, Replay replay) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= Integer.BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length <= 0 || buffer.remaining() < length + Integer.BYTES) {
+                return start;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            buffer.position(buffer.position() + length);
+            if ((int) crc.getValue() != buffer.getInt()) {
+                return start;
+            }
+            byte type = payload.get();
+            long revision = payload.getLong();
+            if (type == PUT) {
+                replay.put(UserCodec.read(payload));
+            } else if (type == DELETE) {
+                replay.delete(payload.getLong(), revision);
+            } else {
+                return start;
+            }
+        }
+        return buffer.position();
+    }
+}
@@ -0,0 +1,193 @@
+package com.demo.store;
+
+import com.demo.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Optional durability for the {@link UserStore}: a binary snapshot plus an append-only
+ * journal of the writes since, both in {@code demo.persistence.dir}.
+ *
+ * At startup the snapshot is loaded through a memory mapping and the journal replayed
+ * on top of it. A new snapshot is written (and the journal emptied) every
+ * {@code demo.persistence.snapshot-every} journal records, on shutdown and on request.
+ * {@code demo.persistence.restore-from} starts from a saved snapshot file instead,
+ * with or without a persistence directory.
+ */
+@Component
+public class UserPersistence implements MutationLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPersistence.class);
+    private static final String SNAPSHOT_FILE = "users.snapshot";
+    private static final String JOURNAL_FILE = "users.journal";
+
+    /**
+     * Result of writing a snapshot
+     */
+    public record SnapshotInfo(String file, int users, long revision, long bytes, long durationMs) {}
+
+    private final UserStore store;
+    private final Path directory;
+    private final Path restoreFrom;
+    private final long snapshotEvery;
+    private final boolean fsync;
+
+    private UserJournal journal;
+    private long journalRecords;
+
+    public UserPersistence(UserStore store,
+                           @Value("${demo.persistence.dir:}") String directory,
+                           @Value("${demo.persistence.restore-from:}") String restoreFrom,
+                           @Value("${demo.persistence.snapshot-every:100000}") long snapshotEvery,
+                           @Value("${demo.persistence.fsync:false}") boolean fsync) {
+        this.store = store;
+        this.directory = directory.isBlank() ? null : Paths.get(directory);
+        this.restoreFrom = restoreFrom.isBlank() ? null : Paths.get(restoreFrom);
+        this.snapshotEvery = snapshotEvery;
+        this.fsync = fsync;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        long started = System.nanoTime();
+        if (restoreFrom != null) {
+            UserSnapshotFile.Contents contents = UserSnapshotFile.read(restoreFrom);
+            store.restore(contents.users(), contents.revision(), contents.nextId());
+            logger.info("Restored {} users from {}", contents.users().size(), restoreFrom);
+        }
+        if (directory == null) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path journalFile = directory.resolve(JOURNAL_FILE);
+        int loaded = 0;
+        if (restoreFrom == null && Files.exists(snapshot)) {
+            UserSnapshotFile.Contents contents = UserSnapshotFile.read(snapshot);
+            store.restore(contents.users(), contents.revision(), contents.nextId());
+            loaded = contents.users().size();
+        }
+        if (restoreFrom != null) {
+            // The restored state replaces whatever was persisted before
+            Files.deleteIfExists(journalFile);
+        }
+
+        // Journal records at or below the snapshot revision were written before the
+        // snapshot was taken (crash between snapshot and journal truncation)
+        long snapshotRevision = store.revision();
+        long[] replayed = {0};
+        journal = UserJournal.open(journalFile, fsync, new UserJournal.Replay() {
+            @Override
+            public void put(User user) {
+                if (user.getVersion() > snapshotRevision) {
+                    store.load(user);
+                    replayed[0]++;
+                }
+            }
+
+            @Override
+            public void delete(long id, long revision) {
+                if (revision > snapshotRevision) {
+                    store.unload(id, revision);
+                    replayed[0]++;
+                }
+            }
+        });
+        journalRecords = replayed[0];
+        store.attach(this);
+        if (restoreFrom != null) {
+            snapshot();
+        }
+        logger.info("User store loaded from {} in {} ms: {} users from snapshot, {} journal records",
+            directory, (System.nanoTime() - started) / 1_000_000, loaded, replayed[0]);
+    }
+
+    /**
+     * Write a snapshot of the current state and empty the journal
+     */
+    public SnapshotInfo snapshot() throws IOException {
+        if (directory == null) {
+            throw new IllegalStateException("Persistence is disabled (demo.persistence.dir is not set)");
+        }
+        long started = System.nanoTime();
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        SnapshotInfo[] info = new SnapshotInfo[1];
+        store.export((revision, nextId, users) -> {
+            journal.flush();
+            // With fsync the snapshot and its directory entry are on disk before the journal is emptied
+            long bytes = UserSnapshotFile.write(file, revision, nextId, users, fsync);
+            journal.truncate();
+            journalRecords = 0;
+            info[0] = new SnapshotInfo(file.toString(), users.size(), revision, bytes,
+                (System.nanoTime() - started) / 1_000_000);
+        });
+        logger.info("User snapshot written: {} users, revision {}, {} bytes in {} ms",
+            info[0].users(), info[0].revision(), info[0].bytes(), info[0].durationMs());
+        return info[0];
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (journal != null) {
+            snapshot();
+            journal.close();
+        }
+    }
+
+    @Override
+    public void put(User user) {
+        try {
+            journal.put(user);
+            journalRecords++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+
+    @Override
+    public void delete(long id, long revision) {
+        try {
+            journal.delete(id, revision);
+            journalRecords++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+
+    // The journal only records single changes; a new snapshot captures the reset state
+    @Override
+    public void replaced() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Snapshot after reset failed", e);
+        }
+    }
+
+    @Override
+    public void commit() {
+        try {
+            journal.flush();
+            if (journalRecords >= snapshotEvery) {
+                snapshot();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+}
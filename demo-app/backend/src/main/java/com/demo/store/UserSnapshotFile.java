@@ -0,0 +1,116 @@
+package com.demo.store;
+
+import com.demo.model.User;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary snapshot of the user store.
+ *
+ * Layout: magic, format, revision, next ID, user count, the users ({@link UserCodec})
+ * in ID order, and a CRC32 of everything before it. Written to a temporary file and
+ * moved into place atomically; read through a memory mapping (files up to 2 GB).
+ * With {@code fsync} the temporary file is forced to disk before the move and the
+ * directory after it, so the snapshot survives a power loss once written.
+ */
+final class UserSnapshotFile {
+
+    private static final int MAGIC = 0x44555352; // "DUSR"
+    private static final int FORMAT = 1;
+
+    /**
+     * Contents of a snapshot; users are in ID order
+     */
+    record Contents(long revision, long nextId, List<User> users) {}
+
+    private UserSnapshotFile() {
+    }
+
+    static long write(Path file, long revision, long nextId, Collection<User> users, boolean fsync) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream raw = Channels.newOutputStream(channel)) {
+            CheckedOutputStream checked = new CheckedOutputStream(raw, new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(revision);
+            out.writeLong(nextId);
+            out.writeInt(users.size());
+            for (User user : users) {
+                UserCodec.write(out, user);
+            }
+            out.flush();
+            new DataOutputStream(raw).writeLong(checked.getChecksum().getValue());
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (fsync) {
+            syncDirectory(file.toAbsolutePath().getParent());
+        }
+        return Files.size(file);
+    }
+
+    /**
+     * Make a rename in the directory durable; platforms that cannot open directories
+     * (Windows) persist renames without it
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    static Contents read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < 36 || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a user snapshot: " + file);
+            }
+            if (buffer.getInt(4) != FORMAT) {
+                throw new IOException("Unsupported snapshot format " + buffer.getInt(4) + ": " + file);
+            }
+            int bodyLength = buffer.capacity() - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyLength));
+            if (crc.getValue() != buffer.getLong(bodyLength)) {
+                throw new IOException("Corrupt user snapshot (checksum mismatch): " + file);
+            }
+
+            ByteBuffer body = buffer.slice(8, bodyLength - 8);
+            long revision = body.getLong();
+            long nextId = body.getLong();
+            int count = body.getInt();
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                users.add(UserCodec.read(body));
+            }
+            return new Contents(revision, nextId, users);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.demo.store;
+
+import com.demo.model.BatchItemResult;
+import com.demo.model.User;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory users with secondary indexes on email (unique) and role.
+ *
+ * Reads are lock-free: the users and both indexes are one immutable state behind a
+ * volatile reference, and each write publishes a new state, so they change together.
+ * Writes are serialized, so the email uniqueness check cannot race. Emails and roles
+ * are indexed case-insensitively; users without one are simply not in that index.
+ *
+ * Every write advances the store {@link #revision()} and stamps the written user with
+ * it, giving each user a version and the collection as a whole a version for ETags.
+ * Writes are also handed to the attached {@link MutationLog} (see {@link UserPersistence}).
+ *
+ * The state is built from {@link PersistentSortedMap}s, so named snapshots share
+ * structure with the live store: taking one, resetting to one and forking a new store
+ * from one keep a reference to the current state (O(1)), and every write, including the
+ * first one after them, copies only the O(log n) tree nodes it changes. Snapshots never
+ * see later changes. A reset still advances the revision, so no collection ETag is ever
+ * reused for different content.
+ */
+@Component
+public class UserStore {
+
+    /**
+     * One page of users and the ID to continue after, or null on the last page
+     */
+    public record Page(List<User> users, Long nextCursor) {}
+
+    /** Snapshot taken once the store is initialized; new tenants start from it */
+    public static final String INITIAL_SNAPSHOT = "initial";
+
+    /**
+     * Users and their indexes; never modified, a write builds the next state
+     */
+    private record State(
+        // Sorted by ID, so a page starts right after the cursor ID without scanning earlier users
+        PersistentSortedMap<Long, User> users,
+        PersistentSortedMap<String, Long> byEmail,
+        PersistentSortedMap<String, PersistentSortedMap<Long, Boolean>> byRole) {
+
+        static final State EMPTY = new State(
+            PersistentSortedMap.empty(), PersistentSortedMap.empty(), PersistentSortedMap.empty());
+
+        // Store a user, re-indexing the one it replaces
+        State with(User user) {
+            User previous = users.get(user.getId());
+            State base = previous != null ? without(previous) : this;
+            PersistentSortedMap<String, Long> emails = base.byEmail;
+            PersistentSortedMap<String, PersistentSortedMap<Long, Boolean>> roles = base.byRole;
+            String email = normalizeOrNull(user.getEmail());
+            if (email != null) {
+                emails = emails.put(email, user.getId());
+            }
+            String role = normalizeOrNull(user.getRole());
+            if (role != null) {
+                PersistentSortedMap<Long, Boolean> ids = roles.get(role);
+                roles = roles.put(role, (ids != null ? ids : PersistentSortedMap.<Long, Boolean>empty()).put(user.getId(), true));
+            }
+            return new State(base.users.put(user.getId(), user), emails, roles);
+        }
+
+        State without(User user) {
+            PersistentSortedMap<String, Long> emails = byEmail;
+            PersistentSortedMap<String, PersistentSortedMap<Long, Boolean>> roles = byRole;
+            String email = normalizeOrNull(user.getEmail());
+            if (email != null && user.getId().equals(emails.get(email))) {
+                emails = emails.remove(email);
+            }
+            String role = normalizeOrNull(user.getRole());
+            PersistentSortedMap<Long, Boolean> ids = role == null ? null : roles.get(role);
+            if (ids != null) {
+                ids = ids.remove(user.getId());
+                roles = ids.isEmpty() ? roles.remove(role) : roles.put(role, ids);
+            }
+            return new State(users.remove(user.getId()), emails, roles);
+        }
+    }
+
+    private record Snapshot(State state, long revision, long nextId) {}
+
+    private volatile State state = State.EMPTY;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong idCounter = new AtomicLong(1);
+    private final AtomicLong revision = new AtomicLong();
+    private MutationLog log = MutationLog.NONE;
+    // A lock rather than synchronized: writers block on journal I/O while holding it,
+    // which would pin the carrier of a virtual thread (spring.threads.virtual.enabled)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public Optional<User> get(long id) {
+        return Optional.ofNullable(state.users().get(id));
+    }
+
+    public boolean isEmpty() {
+        return state.users().isEmpty();
+    }
+
+    /**
+     * Version of the whole collection; changes with every create, update and delete
+     */
+    public long revision() {
+        return revision.get();
+    }
+
+    public Optional<User> findByEmail(String email) {
+        String key = normalize(email);
+        State current = state;
+        Long id = current.byEmail().get(key);
+        // Re-checked against the user, which may have changed since the index was read
+        return id == null ? Optional.empty() : Optional.ofNullable(current.users().get(id)).filter(user -> key.equals(normalizeOrNull(user.getEmail())));
+    }
+
+    /**
+     * Users ordered by ID after {@code cursor}; {@code role} (exact) goes through the
+     * role index, {@code nameFilter} (lower-case substring) is applied while scanning
+     */
+    public Page page(Long cursor, int limit, String role, String nameFilter) {
+        String roleKey = normalizeOrNull(role);
+        State current = state;
+        Iterable<Long> ids;
+        if (roleKey == null) {
+            ids = current.users().keysAfter(cursor);
+        } else {
+            PersistentSortedMap<Long, Boolean> roleIds = current.byRole().get(roleKey);
+            if (roleIds == null) {
+                return new Page(List.of(), null);
+            }
+            ids = roleIds.keysAfter(cursor);
+        }
+
+        List<User> page = new ArrayList<>();
+        for (Long id : ids) {
+            User user = current.users().get(id);
+            if (user == null
+                    || (roleKey != null && !roleKey.equals(normalizeOrNull(user.getRole())))
+                    || (nameFilter != null && !nameContains(user, nameFilter))) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new Page(page, page.get(page.size() - 1).getId());
+            }
+            page.add(user);
+        }
+        return new Page(page, null);
+    }
+
+    /**
+     * Store a new user under the next ID
+     *
+     * @throws DuplicateEmailException if another user has the same email
+     */
+    public User create(User user) {
+        writeLock.lock();
+        try {
+            requireFreeEmail(user.getEmail(), null);
+            user.setId(idCounter.getAndIncrement());
+            put(user);
+            log.commit();
+            return user;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replace an existing user, re-indexing a changed email or role
+     *
+     * @throws DuplicateEmailException if another user has the new email
+     */
+    public Optional<User> update(long id, User user) {
+        writeLock.lock();
+        try {
+            Optional<User> updated = replace(id, user);
+            log.commit();
+            return updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Optional<User> replace(long id, User user) {
+        if (state.users().get(id) == null) {
+            return Optional.empty();
+        }
+        requireFreeEmail(user.getEmail(), id);
+        user.setId(id);
+        put(user);
+        return Optional.of(user);
+    }
+
+    /**
+     * Create users under one contiguous ID range reserved up front, holding the write
+     * lock once for the whole batch. Items with a duplicate email (also within the
+     * batch) fail on their own; their reserved IDs stay unused.
+     */
+    public List<BatchItemResult> createAll(List<User> batch) {
+        writeLock.lock();
+        try {
+            long firstId = idCounter.getAndAdd(batch.size());
+            List<BatchItemResult> results = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                User user = batch.get(i);
+                try {
+                    requireFreeEmail(user.getEmail(), null);
+                } catch (DuplicateEmailException e) {
+                    results.add(BatchItemResult.failed(i, 409, null, e.getMessage()));
+                    continue;
+                }
+                user.setId(firstId + i);
+                put(user);
+                results.add(BatchItemResult.ok(i, 201, user.getId()));
+            }
+            log.commit();
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replace users identified by their {@code id}, like {@link #update} per item
+     */
+    public List<BatchItemResult> updateAll(List<User> batch) {
+        writeLock.lock();
+        try {
+            List<BatchItemResult> results = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                User user = batch.get(i);
+                if (user.getId() == null) {
+                    results.add(BatchItemResult.failed(i, 400, null, "Missing id"));
+                    continue;
+                }
+                try {
+                    Optional<User> updated = replace(user.getId(), user);
+                    results.add(updated.isPresent()
+                        ? BatchItemResult.ok(i, 200, user.getId())
+                        : BatchItemResult.failed(i, 404, user.getId(), "User not found"));
+                } catch (DuplicateEmailException e) {
+                    results.add(BatchItemResult.failed(i, 409, user.getId(), e.getMessage()));
+                }
+            }
+            log.commit();
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<BatchItemResult> deleteAll(List<Long> ids) {
+        writeLock.lock();
+        try {
+            List<BatchItemResult> results = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                results.add(id != null && remove(id)
+                    ? BatchItemResult.ok(i, 204, id)
+                    : BatchItemResult.failed(i, 404, id, "User not found"));
+            }
+            log.commit();
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean delete(long id) {
+        writeLock.lock();
+        try {
+            boolean removed = remove(id);
+            log.commit();
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Save the current content under {@code name}, replacing an older snapshot of that name
+     *
+     * @return the revision the snapshot was taken at
+     */
+    public long snapshot(String name) {
+        writeLock.lock();
+        try {
+            snapshots.put(name, new Snapshot(state, revision.get(), idCounter.get()));
+            return revision.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Go back to the content (and next ID) of a snapshot; the snapshot is kept
+     *
+     * @return false if there is no snapshot with that name
+     */
+    public boolean reset(String name) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = snapshots.get(name);
+            if (snapshot == null) {
+                return false;
+            }
+            state = snapshot.state();
+            idCounter.set(snapshot.nextId());
+            revision.incrementAndGet();
+            log.replaced();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Set<String> snapshotNames() {
+        return new TreeSet<>(snapshots.keySet());
+    }
+
+    public boolean dropSnapshot(String name) {
+        return snapshots.remove(name) != null;
+    }
+
+    /**
+     * New store (without a mutation log) starting from a snapshot of this one, which
+     * also becomes its {@value #INITIAL_SNAPSHOT} snapshot
+     */
+    public Optional<UserStore> fork(String name) {
+        Snapshot snapshot = snapshots.get(name);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        UserStore fork = new UserStore();
+        fork.state = snapshot.state();
+        fork.idCounter.set(snapshot.nextId());
+        fork.revision.set(snapshot.revision());
+        fork.snapshots.put(INITIAL_SNAPSHOT, snapshot);
+        return Optional.of(fork);
+    }
+
+    /**
+     * Replace the whole content, e.g. with a loaded snapshot; users must have IDs and versions
+     */
+    void restore(Collection<User> restored, long restoredRevision, long nextId) {
+        writeLock.lock();
+        try {
+            state = State.EMPTY;
+            for (User user : restored) {
+                load(user);
+            }
+            idCounter.set(Math.max(nextId, idCounter.get()));
+            revision.set(Math.max(restoredRevision, revision.get()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a replayed write without logging it again
+     */
+    void load(User user) {
+        writeLock.lock();
+        try {
+            state = state.with(user);
+            idCounter.accumulateAndGet(user.getId() + 1, Math::max);
+            revision.accumulateAndGet(user.getVersion(), Math::max);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Apply a replayed delete without logging it again
+     */
+    void unload(long id, long deletedAtRevision) {
+        writeLock.lock();
+        try {
+            User removed = state.users().get(id);
+            if (removed != null) {
+                state = state.without(removed);
+            }
+            revision.accumulateAndGet(deletedAtRevision, Math::max);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Log every following write
+     */
+    void attach(MutationLog mutationLog) {
+        writeLock.lock();
+        try {
+            this.log = mutationLog;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Hand a consistent view (revision, next ID, users in ID order) to {@code export};
+     * writes wait until it returns
+     */
+    <E extends Exception> void export(Export<E> export) throws E {
+        writeLock.lock();
+        try {
+            export.accept(revision.get(), idCounter.get(), state.users().values());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    interface Export<E extends Exception> {
+        void accept(long revision, long nextId, Collection<User> users) throws E;
+    }
+
+    private boolean remove(long id) {
+        User removed = state.users().get(id);
+        if (removed == null) {
+            return false;
+        }
+        state = state.without(removed);
+        long next = revision.incrementAndGet();
+        log.delete(id, next);
+        return true;
+    }
+
+    // The revision moves only after the change is visible, so a reader that sees a
+    // revision also sees every write up to it (ETags may be stale-low, never stale-high)
+    private void put(User user) {
+        long next = revision.get() + 1;
+        user.setVersion(next);
+        state = state.with(user);
+        revision.set(next);
+        log.put(user);
+    }
+
+    private void requireFreeEmail(String email, Long ownerId) {
+        String key = normalizeOrNull(email);
+        Long existing = key == null ? null : state.byEmail().get(key);
+        if (existing != null && !existing.equals(ownerId)) {
+            throw new DuplicateEmailException(email);
+        }
+    }
+
+    private static boolean nameContains(User user, String nameFilter) {
+        return user.getName() != null && user.getName().toLowerCase(Locale.ROOT).contains(nameFilter);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeOrNull(String value) {
+        return value == null || value.isBlank() ? null : normalize(value);
+    }
+}
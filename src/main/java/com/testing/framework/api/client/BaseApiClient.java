@@ -1,6 +1,14 @@
 package com.testing.framework.api.client;
 
+import com.testing.framework.api.replay.CassetteStore;
+import com.testing.framework.api.replay.RecordingFilter;
+import com.testing.framework.api.replay.ReplayMode;
+import com.testing.framework.api.replay.ReplayStubServer;
+import com.testing.framework.core.config.ConfigAware;
 import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.config.ConfigSnapshot;
+import com.testing.framework.core.impact.ImpactRecorder;
+import com.testing.framework.core.logging.Slf4jPrintStream;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
@@ -11,67 +19,127 @@ import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
- * Base API client with RestAssured configuration
+ * Base API client with RestAssured configuration.
+ * Configuration is resolved from the active {@link com.testing.framework.core.config.ConfigContext}.
+ * Authentication and headers added to the client survive rebuilds of the specification
+ * for another environment or configuration, until {@link #resetRequestSpec()}.
  */
-public class BaseApiClient {
+public class BaseApiClient implements ConfigAware {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseApiClient.class);
-    protected static final ConfigManager config = ConfigManager.getInstance();
     
+    protected ConfigManager config;
     protected RequestSpecification requestSpec;
+    private ConfigSnapshot specSnapshot;
+    private final List<Consumer<RequestSpecBuilder>> customizations = new ArrayList<>();
     
     public BaseApiClient() {
-        setupRequestSpecification();
+        this.config = ConfigManager.getInstance();
+        ImpactRecorder.inClassScope(getClass(), this::setupRequestSpecification);
+    }
+    
+    /**
+     * Rebuild the request specification when running under another environment,
+     * or when the configuration changed since it was built (e.g. embedded stack URLs)
+     */
+    @Override
+    public void applyConfig(ConfigManager activeConfig) {
+        if (activeConfig != config || activeConfig.snapshot() != specSnapshot) {
+            config = activeConfig;
+            setupRequestSpecification();
+        }
     }
     
     protected void setupRequestSpecification() {
-        RestAssured.baseURI = config.getApiBaseUrl();
+        ImpactRecorder.touchClass(getClass());
+        specSnapshot = config.snapshot();
+        ReplayMode replayMode = ReplayMode.fromString(config.getReplayMode());
+        // Only on the spec: a global RestAssured.baseURI would leak between environments run in parallel
+        String baseUri = resolveBaseUri(replayMode);
         
-        requestSpec = new RequestSpecBuilder()
+        RequestSpecBuilder builder = new RequestSpecBuilder();
+        if (Boolean.parseBoolean(config.getProperty("api.cache.enabled", "true"))) {
+            // First, so the logging filters show the conditional request and the real 304
+            builder.addFilter(ConditionalCacheFilter.shared(
+                Integer.parseInt(config.getProperty("api.cache.max.entries", "1000"))));
+        }
+        builder
+            .setBaseUri(baseUri)
             .setContentType(ContentType.JSON)
             .setAccept(ContentType.JSON)
-            .addFilter(new RequestLoggingFilter())
-            .addFilter(new ResponseLoggingFilter())
+            .addFilter(new RequestLoggingFilter(Slf4jPrintStream.forLogger("io.restassured.request")))
+            .addFilter(new ResponseLoggingFilter(Slf4jPrintStream.forLogger("io.restassured.response")))
             .addFilter(new AllureRestAssured())
-            .setRelaxedHTTPSValidation()
-            .build();
+            .setRelaxedHTTPSValidation();
+        
+        if (replayMode == ReplayMode.RECORD) {
+            builder.addFilter(new RecordingFilter(cassetteStore()));
+        }
+        customizations.forEach(customization -> customization.accept(builder));
+        
+        requestSpec = builder.build();
+    }
+    
+    /**
+     * Real API URL, or the local stub server URL when replaying
+     */
+    private String resolveBaseUri(ReplayMode replayMode) {
+        if (replayMode != ReplayMode.REPLAY) {
+            return config.getApiBaseUrl();
+        }
+        ReplayStubServer.LatencySettings latency = new ReplayStubServer.LatencySettings(
+            config.getReplayLatencyMs(),
+            config.getReplayLatencyJitterMs(),
+            config.isReplayRecordedLatency());
+        return ReplayStubServer.forStore(cassetteStore(), latency).rebase(config.getApiBaseUrl());
+    }
+    
+    private CassetteStore cassetteStore() {
+        return CassetteStore.open(Paths.get(config.getReplayDirectory()));
     }
     
     /**
      * Add bearer token authentication
      */
     public void setBearerAuth(String token) {
-        requestSpec = new RequestSpecBuilder()
-            .addRequestSpecification(requestSpec)
-            .addHeader("Authorization", "Bearer " + token)
-            .build();
+        customize(builder -> builder.addHeader("Authorization", "Bearer " + token));
     }
     
     /**
      * Add basic authentication
      */
     public void setBasicAuth(String username, String password) {
-        requestSpec = new RequestSpecBuilder()
-            .addRequestSpecification(requestSpec)
-            .setAuth(RestAssured.basic(username, password))
-            .build();
+        customize(builder -> builder.setAuth(RestAssured.basic(username, password)));
     }
     
     /**
      * Add custom header
      */
     public void addHeader(String key, String value) {
-        requestSpec = new RequestSpecBuilder()
-            .addRequestSpecification(requestSpec)
-            .addHeader(key, value)
-            .build();
+        customize(builder -> builder.addHeader(key, value));
     }
     
     /**
-     * Reset request specification to defaults
+     * Reset request specification to defaults, dropping authentication and headers
      */
     public void resetRequestSpec() {
+        customizations.clear();
         setupRequestSpecification();
     }
+    
+    /**
+     * Apply a customization now and again after every rebuild of the specification
+     */
+    private void customize(Consumer<RequestSpecBuilder> customization) {
+        customizations.add(customization);
+        RequestSpecBuilder builder = new RequestSpecBuilder().addRequestSpecification(requestSpec);
+        customization.accept(builder);
+        requestSpec = builder.build();
+    }
 }
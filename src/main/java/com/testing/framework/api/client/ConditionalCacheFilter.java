@@ -0,0 +1,93 @@
+package com.testing.framework.api.client;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RestAssured filter revalidating cached GET responses with {@code If-None-Match}.
+ *
+ * 200 responses that carry an ETag are kept per URL, {@code Accept} and
+ * {@code Authorization} header, least recently used first out. The next GET of the same URL sends the ETag; on 304 the
+ * cached response is returned as the 200 it stands for, so tests see the same response
+ * as without the cache while the server skips building and sending the body. Requests
+ * that set {@code If-None-Match} themselves bypass the cache.
+ */
+public class ConditionalCacheFilter implements Filter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalCacheFilter.class);
+    private static ConditionalCacheFilter shared;
+
+    private final Map<String, CachedResponse> cache;
+
+    private record CachedResponse(String etag, String statusLine, Headers headers, String contentType, byte[] body) {}
+
+    public ConditionalCacheFilter(int maxEntries) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Cache shared by all API clients, created on first use
+     */
+    public static synchronized ConditionalCacheFilter shared(int maxEntries) {
+        if (shared == null) {
+            shared = new ConditionalCacheFilter(maxEntries);
+        }
+        return shared;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod())
+                || requestSpec.getHeaders().hasHeaderWithName("If-None-Match")) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = requestSpec.getURI()
+            + " " + requestSpec.getHeaders().getValue("Accept")
+            + " " + requestSpec.getHeaders().getValue("Authorization");
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            requestSpec.header("If-None-Match", cached.etag());
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (cached != null && response.getStatusCode() == 304) {
+            logger.debug("Revalidated {} ({})", requestSpec.getURI(), cached.etag());
+            return new ResponseBuilder()
+                .clone(response)
+                .setStatusCode(200)
+                .setStatusLine(cached.statusLine())
+                .setHeaders(cached.headers())
+                .setContentType(cached.contentType())
+                .setBody(cached.body())
+                .build();
+        }
+
+        String etag = response.getHeader("ETag");
+        if (response.getStatusCode() == 200 && etag != null) {
+            cache.put(key, new CachedResponse(etag, response.getStatusLine(), response.getHeaders(),
+                response.getContentType(), response.asByteArray()));
+        } else if (cached != null) {
+            cache.remove(key);
+        }
+        return response;
+    }
+}
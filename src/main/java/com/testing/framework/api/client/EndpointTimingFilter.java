@@ -0,0 +1,57 @@
+package com.testing.framework.api.client;
+
+import com.testing.framework.core.impact.EndpointRecordingFilter;
+import com.testing.framework.core.metrics.EndpointMetrics;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * RestAssured filter timing test requests per route into {@link EndpointMetrics}.
+ *
+ * Routes are the concrete paths with numeric IDs templated ({@code /api/users/{id}})
+ * and a tenant prefix ({@code /tenants/{tenant}}) removed; the run report maps them
+ * onto the route patterns the server reports ({@link EndpointMetrics#alignedTo}).
+ * Admin calls (tenants, snapshots) and requests through specifications carrying
+ * {@link #UNTIMED} (fixture provisioning) are framework traffic and not timed.
+ */
+public class EndpointTimingFilter implements Filter {
+
+    /**
+     * Marker for specifications whose requests are not timed; passes requests through
+     */
+    public static final Filter UNTIMED = (requestSpec, responseSpec, ctx) -> ctx.next(requestSpec, responseSpec);
+
+    private final Supplier<EndpointMetrics> metrics;
+
+    /**
+     * @param metrics timings of the API the current request goes to
+     */
+    public EndpointTimingFilter(Supplier<EndpointMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String path = URI.create(requestSpec.getURI()).getPath();
+        if (requestSpec.getDefinedFilters().contains(UNTIMED) || EndpointRecordingFilter.isAdmin(path)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        metrics.get().record(requestSpec.getMethod() + " " + route(path),
+            response.statusCode(), (System.nanoTime() - start) / 1_000);
+        return response;
+    }
+
+    static String route(String path) {
+        return EndpointRecordingFilter.route(path);
+    }
+}
@@ -0,0 +1,112 @@
+package com.testing.framework.api.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads an NDJSON endpoint one record at a time, in constant memory.
+ *
+ * Goes through {@code java.net.http} instead of RestAssured, which holds the whole
+ * body in memory. Each line is mapped to the record type and handed to the consumer
+ * while the rest of the response is still arriving; a consumer that throws (e.g. a
+ * failed assertion) ends the download. gzip responses are decompressed on the fly.
+ */
+public class NdjsonStream {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * Outcome of a read: records consumed, bytes received (compressed size when gzip)
+     */
+    public record Summary(long records, long bytes, boolean gzip, long durationMs) {}
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final boolean acceptGzip;
+
+    public NdjsonStream(Duration timeout, boolean acceptGzip) {
+        this.timeout = timeout;
+        this.acceptGzip = acceptGzip;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Stream {@code url} into {@code consumer}, one {@code type} per line
+     *
+     * @throws IllegalStateException on a non-200 response
+     */
+    public <T> Summary read(String url, Class<T> type, Consumer<? super T> consumer) {
+        long start = System.nanoTime();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(timeout)
+            .header("Accept", "application/x-ndjson");
+        if (acceptGzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        try {
+            HttpResponse<InputStream> response = client.send(request.GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (CountingInputStream wire = new CountingInputStream(response.body())) {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("GET " + url + " failed with HTTP " + response.statusCode());
+                }
+                boolean gzip = response.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent();
+                long records = 0;
+                ObjectReader reader = MAPPER.readerFor(type);
+                try (MappingIterator<T> iterator = reader.readValues(gzip ? new GZIPInputStream(wire, 8192) : wire)) {
+                    while (iterator.hasNextValue()) {
+                        consumer.accept(iterator.nextValue());
+                        records++;
+                    }
+                }
+                return new Summary(records, wire.count, gzip, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Streaming " + url + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while streaming " + url, e);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
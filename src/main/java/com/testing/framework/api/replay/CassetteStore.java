@@ -0,0 +1,236 @@
+package com.testing.framework.api.replay;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Indexed on-disk store of recorded HTTP exchanges.
+ *
+ * Layout: {@code index.json} maps a matching key to the ordered list of exchange
+ * files recorded for it, and every exchange lives in its own file under
+ * {@code exchanges/}. Repeated requests with the same key are replayed in the
+ * order they were recorded; once exhausted the last recording keeps being served.
+ *
+ * Recording writes only the exchange file; the index is written by {@link #flush()}
+ * (also at JVM shutdown). Exchanges missing from the index, e.g. after a crash, are
+ * added back when the store is opened.
+ */
+public class CassetteStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CassetteStore.class);
+    private static final Map<Path, CassetteStore> OPEN_STORES = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final Path directory;
+    private final Path indexFile;
+    private final Map<String, List<String>> index = new ConcurrentHashMap<>();
+    private final Map<String, RecordedExchange> loaded = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> replayCursors = new ConcurrentHashMap<>();
+    private boolean indexDirty;
+
+    private CassetteStore(Path directory) {
+        this.directory = directory;
+        this.indexFile = directory.resolve("index.json");
+        loadIndex();
+    }
+
+    /**
+     * Open (or reuse) the cassette store rooted at the given directory
+     */
+    public static CassetteStore open(Path directory) {
+        return OPEN_STORES.computeIfAbsent(directory.toAbsolutePath().normalize(), path -> {
+            CassetteStore store = new CassetteStore(path);
+            Runtime.getRuntime().addShutdownHook(new Thread(store::flush, "cassette-index-flush"));
+            return store;
+        });
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int size() {
+        return index.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Persist an exchange and add it to the index
+     */
+    public synchronized void record(RecordedExchange exchange) {
+        String key = exchange.key();
+        List<String> files = index.computeIfAbsent(key, k -> new ArrayList<>());
+        String fileName = hash(key) + "-" + files.size() + ".json";
+
+        try {
+            Path exchangeDir = directory.resolve("exchanges");
+            Files.createDirectories(exchangeDir);
+            MAPPER.writeValue(exchangeDir.resolve(fileName).toFile(), exchange);
+            files.add(fileName);
+            loaded.put(fileName, exchange);
+            indexDirty = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record exchange " + key, e);
+        }
+        logger.debug("Recorded {} {} -> {}", exchange.method(), exchange.path(), exchange.status());
+    }
+
+    /**
+     * Write the index if exchanges were recorded since it was last written
+     */
+    public synchronized void flush() {
+        if (!indexDirty) {
+            return;
+        }
+        try {
+            writeIndex();
+            indexDirty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cassette index " + indexFile, e);
+        }
+    }
+
+    /**
+     * Next recorded exchange for a request, in recording order
+     */
+    public Optional<RecordedExchange> next(String method, String path, String query, String body) {
+        String key = keyOf(method, path, query, body);
+        List<String> files = index.get(key);
+        if (files == null || files.isEmpty()) {
+            return Optional.empty();
+        }
+        int position = replayCursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        String fileName = files.get(Math.min(position, files.size() - 1));
+        return Optional.of(loaded.computeIfAbsent(fileName, this::readExchange));
+    }
+
+    /**
+     * Restart replay from the first recording of every key
+     */
+    public void rewind() {
+        replayCursors.clear();
+    }
+
+    /**
+     * Matching key: method, path, sorted query parameters and canonicalized body
+     */
+    public static String keyOf(String method, String path, String query, String body) {
+        return method.toUpperCase() + " " + (path == null || path.isEmpty() ? "/" : path)
+            + "?" + canonicalQuery(query)
+            + "#" + hash(canonicalBody(body));
+    }
+
+    private static String canonicalQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        String[] params = query.split("&");
+        Arrays.sort(params);
+        return String.join("&", params);
+    }
+
+    private static String canonicalBody(String body) {
+        if (body == null || body.isBlank()) {
+            return "";
+        }
+        try {
+            JsonNode tree = CANONICAL_MAPPER.readTree(body);
+            return CANONICAL_MAPPER.writeValueAsString(CANONICAL_MAPPER.treeToValue(tree, Object.class));
+        } catch (IOException e) {
+            // Not JSON - match on the raw body
+            return body.strip();
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void loadIndex() {
+        try {
+            if (Files.exists(indexFile)) {
+                Map<String, List<String>> stored = MAPPER.readValue(indexFile.toFile(),
+                    new TypeReference<Map<String, List<String>>>() {});
+                stored.forEach((key, files) -> index.put(key, new ArrayList<>(files)));
+                logger.info("Loaded cassette index with {} keys from {}", index.size(), directory);
+            }
+            recoverUnindexed();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cassette index " + indexFile, e);
+        }
+    }
+
+    // Exchange files written after the last flush, in recording order per key (<hash>-<n>.json)
+    private void recoverUnindexed() throws IOException {
+        Path exchangeDir = directory.resolve("exchanges");
+        if (!Files.isDirectory(exchangeDir)) {
+            return;
+        }
+        Set<String> indexed = new HashSet<>();
+        index.values().forEach(indexed::addAll);
+        List<String> missing;
+        try (var files = Files.list(exchangeDir)) {
+            missing = files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(".json") && !indexed.contains(name))
+                .sorted(Comparator.comparingInt(CassetteStore::sequenceOf))
+                .toList();
+        }
+        for (String fileName : missing) {
+            RecordedExchange exchange = readExchange(fileName);
+            index.computeIfAbsent(exchange.key(), k -> new ArrayList<>()).add(fileName);
+            loaded.put(fileName, exchange);
+        }
+        if (!missing.isEmpty()) {
+            indexDirty = true;
+            logger.info("Recovered {} unindexed exchanges in {}", missing.size(), directory);
+        }
+    }
+
+    private static int sequenceOf(String fileName) {
+        String name = fileName.substring(0, fileName.length() - ".json".length());
+        try {
+            return Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        Files.createDirectories(directory);
+        Path tmp = directory.resolve("index.json.tmp");
+        MAPPER.writeValue(tmp.toFile(), new TreeMap<>(index));
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private RecordedExchange readExchange(String fileName) {
+        try {
+            return MAPPER.readValue(directory.resolve("exchanges").resolve(fileName).toFile(), RecordedExchange.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read recorded exchange " + fileName, e);
+        }
+    }
+}
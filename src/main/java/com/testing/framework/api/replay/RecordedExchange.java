@@ -0,0 +1,29 @@
+package com.testing.framework.api.replay;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single captured HTTP request/response pair. Response headers keep every value of
+ * repeated headers (e.g. {@code Set-Cookie}); cassettes with single string values load too.
+ */
+public record RecordedExchange(
+    String method,
+    String path,
+    String query,
+    String requestBody,
+    int status,
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    Map<String, List<String>> responseHeaders,
+    String responseBody,
+    long durationMs) {
+    
+    /**
+     * Matching key for this exchange (method, path, query and body)
+     */
+    public String key() {
+        return CassetteStore.keyOf(method, path, query, requestBody);
+    }
+}
@@ -0,0 +1,77 @@
+package com.testing.framework.api.replay;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured filter capturing real exchanges into a {@link CassetteStore}
+ */
+public class RecordingFilter implements Filter {
+
+    /**
+     * Headers not recorded, lower-case: framing, and encoding headers that describe the
+     * wire body rather than the decoded body that is stored
+     */
+    static final Set<String> SKIPPED_HEADERS = Set.of(
+        "content-length", "transfer-encoding", "connection", "date", "keep-alive",
+        "content-encoding", "content-md5");
+
+    private final CassetteStore store;
+
+    public RecordingFilter(CassetteStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        URI uri = URI.create(requestSpec.getURI());
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            if (!SKIPPED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+            }
+        }
+
+        store.record(new RecordedExchange(
+            requestSpec.getMethod(),
+            uri.getRawPath(),
+            uri.getRawQuery(),
+            bodyOf(requestSpec),
+            response.getStatusCode(),
+            headers,
+            response.asString(),
+            durationMs));
+        return response;
+    }
+
+    private static String bodyOf(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.testing.framework.api.replay;
+
+/**
+ * HTTP record/replay modes for API clients
+ */
+public enum ReplayMode {
+    /** Talk to the real API, nothing is captured */
+    OFF,
+    /** Talk to the real API and capture every exchange into the cassette store */
+    RECORD,
+    /** Serve previously captured exchanges from an embedded local stub server */
+    REPLAY;
+    
+    public static ReplayMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return OFF;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown api.replay.mode: " + value
+                + " (expected off, record or replay)", e);
+        }
+    }
+}
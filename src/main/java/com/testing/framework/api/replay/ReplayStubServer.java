@@ -0,0 +1,158 @@
+package com.testing.framework.api.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Embedded local HTTP server replaying exchanges from a {@link CassetteStore}.
+ *
+ * Requests are matched on method, path, query and body. Unmatched requests get a
+ * 501 so a missing recording is never mistaken for a real API response.
+ */
+public class ReplayStubServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayStubServer.class);
+    private static final Map<ServerKey, ReplayStubServer> SERVERS = new ConcurrentHashMap<>();
+
+    private final CassetteStore store;
+    private final LatencySettings latency;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Injected latency: fixed delay plus random jitter, or the recorded duration
+     */
+    public record LatencySettings(long fixedMs, long jitterMs, boolean useRecorded) {
+        public static final LatencySettings NONE = new LatencySettings(0, 0, false);
+    }
+
+    // One server per cassette directory and latency settings
+    private record ServerKey(Path directory, LatencySettings latency) {}
+
+    public ReplayStubServer(CassetteStore store, LatencySettings latency) {
+        this.store = store;
+        this.latency = latency;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start replay stub server", e);
+        }
+        // Cached pool so injected latency on one request never delays another
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "replay-stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Replay stub server serving {} recordings from {} at {}",
+            store.size(), store.getDirectory(), baseUrl());
+    }
+
+    /**
+     * Shared server for a cassette store and latency settings, started on first use and
+     * stopped at JVM shutdown; clients with other settings get a server of their own
+     */
+    public static ReplayStubServer forStore(CassetteStore store, LatencySettings latency) {
+        return SERVERS.computeIfAbsent(new ServerKey(store.getDirectory(), latency), key -> {
+            ReplayStubServer server = new ReplayStubServer(store, latency);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "replay-stub-shutdown"));
+            return server;
+        });
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Point a real API URL at this server, keeping its path (e.g. /api)
+     */
+    public String rebase(String apiBaseUrl) {
+        String path = URI.create(apiBaseUrl).getRawPath();
+        return baseUrl() + (path == null ? "" : path);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            URI uri = exchange.getRequestURI();
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            Optional<RecordedExchange> match = store.next(
+                exchange.getRequestMethod(), uri.getRawPath(), uri.getRawQuery(), body);
+            if (match.isEmpty()) {
+                logger.warn("No recording for {} {}", exchange.getRequestMethod(), uri);
+                byte[] error = ("{\"error\":\"No recorded exchange for "
+                    + exchange.getRequestMethod() + " " + uri.getRawPath() + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(501, error.length);
+                exchange.getResponseBody().write(error);
+                return;
+            }
+
+            RecordedExchange recorded = match.get();
+            injectLatency(recorded);
+
+            // Cassettes recorded before encoding headers were skipped may still carry them
+            recorded.responseHeaders().forEach((name, values) -> {
+                if (!RecordingFilter.SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    exchange.getResponseHeaders().put(name, new ArrayList<>(values));
+                }
+            });
+            byte[] payload = recorded.responseBody() == null
+                ? new byte[0]
+                : recorded.responseBody().getBytes(StandardCharsets.UTF_8);
+            boolean noBody = payload.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(recorded.status(), noBody ? -1 : payload.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(payload);
+                }
+            }
+        }
+    }
+
+    private void injectLatency(RecordedExchange recorded) {
+        long delay = latency.useRecorded() ? recorded.durationMs() : latency.fixedMs();
+        if (latency.jitterMs() > 0) {
+            delay += ThreadLocalRandom.current().nextLong(latency.jitterMs() + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package com.testing.framework.core.config;
+
+/**
+ * Implemented by test infrastructure that caches configuration-derived state
+ * and must rebuild it when a test instance runs under another environment
+ */
+public interface ConfigAware {
+    
+    /**
+     * Called before each invocation with the configuration of the active context
+     */
+    void applyConfig(ConfigManager config);
+}
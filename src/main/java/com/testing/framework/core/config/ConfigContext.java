@@ -0,0 +1,54 @@
+package com.testing.framework.core.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound configuration context.
+ *
+ * While a context is active on a thread, {@link ConfigManager#getInstance()} resolves
+ * to that environment's configuration instead of the JVM-wide {@code -Denv} default.
+ * This is what lets one TestNG run execute the same tests against several environments.
+ */
+public final class ConfigContext {
+
+    private static final ThreadLocal<ConfigManager> ACTIVE = new ThreadLocal<>();
+
+    private ConfigContext() {
+    }
+
+    /**
+     * Configuration bound to the current thread, or null when none is active
+     */
+    public static ConfigManager current() {
+        return ACTIVE.get();
+    }
+
+    public static void activate(String environment) {
+        activate(ConfigManager.forEnvironment(environment));
+    }
+
+    public static void activate(ConfigManager config) {
+        ACTIVE.set(config);
+    }
+
+    public static void clear() {
+        ACTIVE.remove();
+    }
+
+    /**
+     * Run a block with the given environment active, restoring the previous context afterwards
+     */
+    public static <T> T callWith(String environment, Supplier<T> action) {
+        ConfigManager previous = ACTIVE.get();
+        activate(environment);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+}
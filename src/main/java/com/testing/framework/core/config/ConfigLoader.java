@@ -0,0 +1,125 @@
+package com.testing.framework.core.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds configuration snapshots from layered sources, lowest precedence first:
+ * <ol>
+ *   <li>framework defaults ({@code config/defaults.properties})</li>
+ *   <li>environment file ({@code config/<env>.properties} on the classpath)</li>
+ *   <li>optional external file ({@code -Dconfig.file=...})</li>
+ *   <li>system properties</li>
+ *   <li>environment variables for known keys ({@code API_BASE_URL} for {@code api.base.url})</li>
+ *   <li>runtime overrides set by the framework itself (e.g. URLs of the embedded demo stack)</li>
+ * </ol>
+ */
+public class ConfigLoader {
+
+    private static final String DEFAULTS_FILE = "config/defaults.properties";
+
+    private final String environment;
+    private final List<Path> fileSources = new ArrayList<>();
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+
+    public ConfigLoader(String environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Load all layers into a fresh immutable snapshot
+     */
+    public ConfigSnapshot load() {
+        fileSources.clear();
+        Map<String, String> merged = new HashMap<>();
+
+        loadClasspath(DEFAULTS_FILE, false, merged);
+        loadClasspath(String.format("config/%s.properties", environment), true, merged);
+
+        String externalFile = System.getProperty("config.file");
+        if (externalFile != null && !externalFile.isBlank()) {
+            loadFile(Paths.get(externalFile), merged);
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            merged.put(name, System.getProperty(name));
+        }
+
+        for (String key : new ArrayList<>(merged.keySet())) {
+            String value = System.getenv(toEnvironmentVariable(key));
+            if (value != null) {
+                merged.put(key, value);
+            }
+        }
+
+        merged.putAll(overrides);
+
+        return new ConfigSnapshot(environment, merged);
+    }
+
+    /**
+     * Add values that take precedence over every other layer in subsequent loads
+     */
+    public void override(Map<String, String> values) {
+        overrides.putAll(values);
+    }
+
+    public Map<String, String> getOverrides() {
+        return Map.copyOf(overrides);
+    }
+
+    /**
+     * Files backing the last load, for hot reload
+     */
+    public List<Path> getFileSources() {
+        return List.copyOf(fileSources);
+    }
+
+    static String toEnvironmentVariable(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    private void loadClasspath(String resource, boolean required, Map<String, String> target) {
+        URL url = getClass().getClassLoader().getResource(resource);
+        if (url == null) {
+            if (required) {
+                throw new RuntimeException("Unable to find config file: " + resource);
+            }
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream input = url.openStream()) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration", e);
+        }
+        properties.stringPropertyNames().forEach(name -> target.put(name, properties.getProperty(name)));
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                fileSources.add(Paths.get(url.toURI()));
+            } catch (URISyntaxException ignored) {
+                // Not watchable, still loaded
+            }
+        }
+    }
+
+    private void loadFile(Path file, Map<String, String> target) {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration file: " + file, e);
+        }
+        properties.stringPropertyNames().forEach(name -> target.put(name, properties.getProperty(name)));
+        fileSources.add(file.toAbsolutePath());
+    }
+}
@@ -1,92 +1,195 @@
 package com.testing.framework.core.config;
 
+import com.testing.framework.core.impact.ImpactRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Configuration manager for handling environment-specific properties
+ * Configuration manager for handling environment-specific properties.
+ *
+ * Values come from layered sources (see {@link ConfigLoader}) merged into an
+ * immutable {@link ConfigSnapshot}. Reads go through a single volatile reference,
+ * and reloads swap the whole snapshot atomically.
+ *
+ * There is one instance per environment. {@link #getInstance()} returns the
+ * instance bound to the current {@link ConfigContext}, falling back to the
+ * {@code -Denv} default.
  */
 public class ConfigManager {
-    
-    private static ConfigManager instance;
-    private Properties properties;
-    private String environment;
-    
-    private ConfigManager() {
-        this.environment = System.getProperty("env", "dev");
-        loadProperties();
-    }
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
+    private static final Map<String, ConfigManager> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String environment;
+    private final ConfigLoader loader;
+    private volatile ConfigSnapshot snapshot;
+    private ConfigWatcher watcher;
+
+    private ConfigManager(String environment) {
+        this.environment = environment;
+        this.loader = new ConfigLoader(environment);
+        this.snapshot = loader.load();
+        startWatcherIfEnabled();
+    }
+
+    private ConfigManager(ConfigManager parent, Map<String, String> values) {
+        this.environment = parent.environment;
+        this.loader = new ConfigLoader(environment);
+        loader.override(parent.loader.getOverrides());
+        loader.override(values);
+        this.snapshot = loader.load();
+    }
+
+    private static class Holder {
+        private static final ConfigManager INSTANCE = forEnvironment(System.getProperty("env", "dev"));
+    }
+
     public static ConfigManager getInstance() {
-        if (instance == null) {
-            synchronized (ConfigManager.class) {
-                if (instance == null) {
-                    instance = new ConfigManager();
-                }
-            }
+        ConfigManager active = ConfigContext.current();
+        return active != null ? active : Holder.INSTANCE;
+    }
+
+    /**
+     * Shared configuration for a specific environment
+     */
+    public static ConfigManager forEnvironment(String environment) {
+        return INSTANCES.computeIfAbsent(environment, ConfigManager::new);
+    }
+
+    /**
+     * Current immutable configuration snapshot
+     */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Re-read all layers and atomically publish the new snapshot
+     */
+    public synchronized void reload() {
+        snapshot = loader.load();
+        logger.info("Configuration reloaded for environment: {}", environment);
+    }
+
+    /**
+     * Pin values above all configuration layers (kept across reloads) and publish a new snapshot
+     */
+    public synchronized void override(Map<String, String> values) {
+        loader.override(values);
+        snapshot = loader.load();
+        logger.info("Configuration overridden for environment {}: {}", environment, values.keySet());
+    }
+
+    /**
+     * Separate configuration of this environment with values pinned on top, e.g. the
+     * API URL of a test class's own tenant. It is not shared, not hot-reloaded and
+     * does not follow later overrides of this instance.
+     */
+    public ConfigManager derive(Map<String, String> values) {
+        return new ConfigManager(this, values);
+    }
+
+    private void startWatcherIfEnabled() {
+        if (!snapshot.isHotReload() || loader.getFileSources().isEmpty()) {
+            return;
         }
-        return instance;
-    }
-    
-    private void loadProperties() {
-        properties = new Properties();
-        String configFile = String.format("config/%s.properties", environment);
-        
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream(configFile)) {
-            if (input == null) {
-                throw new RuntimeException("Unable to find config file: " + configFile);
-            }
-            properties.load(input);
+        try {
+            watcher = new ConfigWatcher(loader.getFileSources(), this::reload);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration", e);
+            logger.warn("Configuration hot reload disabled: {}", e.getMessage());
+        }
+    }
+
+    private static void touch(String key) {
+        if (ImpactRecorder.TRACK_CONFIG) {
+            ImpactRecorder.touchConfig(key);
         }
     }
-    
+
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        touch(key);
+        return snapshot.get(key);
     }
-    
+
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        touch(key);
+        return snapshot.get(key, defaultValue);
     }
-    
+
     public String getEnvironment() {
         return environment;
     }
-    
+
     // API Configuration
     public String getApiBaseUrl() {
-        return getProperty("api.base.url");
+        touch("api.base.url");
+        return snapshot.getApiBaseUrl();
     }
-    
+
     public int getApiTimeout() {
-        return Integer.parseInt(getProperty("api.timeout", "30000"));
+        touch("api.timeout");
+        return snapshot.getApiTimeout();
+    }
+
+    // API Record/Replay Configuration
+    public String getReplayMode() {
+        touch("api.replay.mode");
+        return snapshot.getReplayMode();
     }
-    
+
+    public String getReplayDirectory() {
+        touch("api.replay.dir");
+        return snapshot.getReplayDirectory();
+    }
+
+    public long getReplayLatencyMs() {
+        touch("api.replay.latency.ms");
+        return snapshot.getReplayLatencyMs();
+    }
+
+    public long getReplayLatencyJitterMs() {
+        touch("api.replay.latency.jitter.ms");
+        return snapshot.getReplayLatencyJitterMs();
+    }
+
+    public boolean isReplayRecordedLatency() {
+        touch("api.replay.latency.recorded");
+        return snapshot.isReplayRecordedLatency();
+    }
+
     // UI Configuration
     public String getUiBaseUrl() {
-        return getProperty("ui.base.url");
+        touch("ui.base.url");
+        return snapshot.getUiBaseUrl();
     }
-    
+
     public String getBrowser() {
-        return getProperty("browser", "chromium");
+        touch("browser");
+        return snapshot.getBrowser();
     }
-    
+
     public boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "true"));
+        touch("headless");
+        return snapshot.isHeadless();
     }
-    
+
     // Database Configuration (if needed)
     public String getDatabaseUrl() {
-        return getProperty("db.url");
+        touch("db.url");
+        return snapshot.getDatabaseUrl();
     }
-    
+
     public String getDatabaseUser() {
-        return getProperty("db.user");
+        touch("db.user");
+        return snapshot.getDatabaseUser();
     }
-    
+
     public String getDatabasePassword() {
-        return getProperty("db.password");
+        touch("db.password");
+        return snapshot.getDatabasePassword();
     }
 }
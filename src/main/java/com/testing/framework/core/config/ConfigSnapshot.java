@@ -0,0 +1,160 @@
+package com.testing.framework.core.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the merged configuration layers.
+ *
+ * Typed values are parsed once when the snapshot is built, so reads on hot
+ * paths are plain field reads. A reload produces a new snapshot.
+ */
+public final class ConfigSnapshot {
+
+    private final String environment;
+    private final Map<String, String> values;
+    private final long loadedAtMillis;
+
+    // API Configuration
+    private final String apiBaseUrl;
+    private final int apiTimeout;
+
+    // API Record/Replay Configuration
+    private final String replayMode;
+    private final String replayDirectory;
+    private final long replayLatencyMs;
+    private final long replayLatencyJitterMs;
+    private final boolean replayRecordedLatency;
+
+    // UI Configuration
+    private final String uiBaseUrl;
+    private final String browser;
+    private final boolean headless;
+
+    // Database Configuration
+    private final String databaseUrl;
+    private final String databaseUser;
+    private final String databasePassword;
+
+    private final boolean hotReload;
+
+    ConfigSnapshot(String environment, Map<String, String> values) {
+        this.environment = environment;
+        this.values = Collections.unmodifiableMap(new TreeMap<>(values));
+        this.loadedAtMillis = System.currentTimeMillis();
+
+        this.apiBaseUrl = values.get("api.base.url");
+        this.apiTimeout = parseInt("api.timeout", "30000");
+
+        this.replayMode = get("api.replay.mode", "off");
+        this.replayDirectory = get("api.replay.dir", "src/test/resources/cassettes") + "/" + environment;
+        this.replayLatencyMs = parseLong("api.replay.latency.ms", "0");
+        this.replayLatencyJitterMs = parseLong("api.replay.latency.jitter.ms", "0");
+        this.replayRecordedLatency = Boolean.parseBoolean(get("api.replay.latency.recorded", "false"));
+
+        this.uiBaseUrl = values.get("ui.base.url");
+        this.browser = get("browser", "chromium");
+        this.headless = Boolean.parseBoolean(get("headless", "true"));
+
+        this.databaseUrl = values.get("db.url");
+        this.databaseUser = values.get("db.user");
+        this.databasePassword = values.get("db.password");
+
+        this.hotReload = Boolean.parseBoolean(get("config.hot.reload", "false"));
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public String getApiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    public int getApiTimeout() {
+        return apiTimeout;
+    }
+
+    public String getReplayMode() {
+        return replayMode;
+    }
+
+    public String getReplayDirectory() {
+        return replayDirectory;
+    }
+
+    public long getReplayLatencyMs() {
+        return replayLatencyMs;
+    }
+
+    public long getReplayLatencyJitterMs() {
+        return replayLatencyJitterMs;
+    }
+
+    public boolean isReplayRecordedLatency() {
+        return replayRecordedLatency;
+    }
+
+    public String getUiBaseUrl() {
+        return uiBaseUrl;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public String getDatabaseUrl() {
+        return databaseUrl;
+    }
+
+    public String getDatabaseUser() {
+        return databaseUser;
+    }
+
+    public String getDatabasePassword() {
+        return databasePassword;
+    }
+
+    public boolean isHotReload() {
+        return hotReload;
+    }
+
+    private int parseInt(String key, String defaultValue) {
+        String value = get(key, defaultValue);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": " + value, e);
+        }
+    }
+
+    private long parseLong(String key, String defaultValue) {
+        String value = get(key, defaultValue);
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+}
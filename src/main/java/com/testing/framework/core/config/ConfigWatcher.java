@@ -0,0 +1,87 @@
+package com.testing.framework.core.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches file-backed configuration layers and triggers a reload on change
+ */
+public class ConfigWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigWatcher.class);
+    private static final long DEBOUNCE_MS = 200;
+
+    private final WatchService watchService;
+    private final Set<Path> watchedFiles = new HashSet<>();
+    private final Runnable onChange;
+    private final Thread thread;
+
+    public ConfigWatcher(Collection<Path> files, Runnable onChange) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.onChange = onChange;
+
+        Set<Path> directories = new HashSet<>();
+        for (Path file : files) {
+            Path absolute = file.toAbsolutePath().normalize();
+            watchedFiles.add(absolute);
+            directories.add(absolute.getParent());
+        }
+        for (Path directory : directories) {
+            directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        }
+
+        this.thread = new Thread(this::watchLoop, "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        logger.info("Watching {} configuration file(s) for changes", watchedFiles.size());
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+                // Editors often write in several steps - let them settle
+                TimeUnit.MILLISECONDS.sleep(DEBOUNCE_MS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            boolean relevant = false;
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path changed
+                    && watchedFiles.contains(directory.resolve(changed).normalize())) {
+                    relevant = true;
+                }
+            }
+            key.reset();
+
+            if (relevant) {
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    logger.error("Configuration reload failed, keeping previous snapshot", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close configuration watcher", e);
+        }
+    }
+}
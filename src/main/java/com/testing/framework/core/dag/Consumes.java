@@ -0,0 +1,16 @@
+package com.testing.framework.core.dag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Resources a test needs; it runs after every test of its class that {@link Produces}
+ * one of them and is skipped if one of those fails
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Consumes {
+    String[] value();
+}
@@ -0,0 +1,134 @@
+package com.testing.framework.core.dag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.scheduling.DurationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.TestNGException;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * Turns {@link Produces}/{@link Consumes} declarations into TestNG dependencies.
+ *
+ * Each consumer gets {@code dependsOnMethods} on the producers of its resources, so
+ * TestNG's graph executor starts every test as soon as what it needs is done and
+ * runs everything else in parallel; no priorities are needed. Cycles and resources
+ * nobody produces abort the run before any test starts.
+ *
+ * At suite start it installs the {@link WorkStealingExecutorFactory} and logs the plan
+ * of every declarative class (dependencies, critical path estimated from the duration
+ * history), which is also written to {@code dag.report.dir}.
+ */
+public class DagListener implements ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DagListener.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Planned execution of one class
+     */
+    public record ClassPlan(String testClass, int tests, int edges, Map<String, Set<String>> dependencies,
+                            List<String> criticalPath, long criticalPathMs, long serialMs) {
+    }
+
+    /**
+     * Add the producers of a test's consumed resources to its {@code dependsOnMethods}.
+     * TestNG keeps a single annotation transformer, so {@code TestListener} calls this.
+     */
+    public static void applyDependencies(ITestAnnotation annotation, Method testMethod) {
+        if (testMethod == null) {
+            return;
+        }
+        DependencyGraph graph = DependencyGraph.forClass(testMethod.getDeclaringClass());
+        if (!graph.isDeclarative()) {
+            return;
+        }
+        validate(graph);
+        Set<String> dependencies = graph.dependenciesOf(testMethod.getName());
+        if (!dependencies.isEmpty()) {
+            annotation.setDependsOnMethods(dependencies.toArray(String[]::new));
+        }
+    }
+
+    private static void validate(DependencyGraph graph) {
+        String className = graph.getTestClass().getName();
+        Optional<List<String>> cycle = graph.findCycle();
+        if (cycle.isPresent()) {
+            throw new TestNGException("Dependency cycle in " + className + " (each test waits for the next): "
+                + String.join(" -> ", cycle.get()));
+        }
+        if (!graph.unresolved().isEmpty()) {
+            throw new TestNGException("Unresolved dependencies in " + className + ": "
+                + String.join("; ", graph.unresolved()));
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (Boolean.parseBoolean(config.getProperty("dag.work.stealing", "true"))) {
+            WorkStealingExecutorFactory.install(suite);
+        }
+        DurationStore durations = DurationStore.open(Paths.get(config.getProperty("history.dir", ".test-history")));
+        long fallbackMs = Long.parseLong(config.getProperty("scheduling.default.duration.ms", "1000"));
+
+        List<ClassPlan> plans = new ArrayList<>();
+        Set<Class<?>> seen = new HashSet<>();
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                Class<?> testClass = xmlClass.getSupportClass();
+                if (testClass == null || !seen.add(testClass)) {
+                    continue;
+                }
+                DependencyGraph graph = DependencyGraph.forClass(testClass);
+                if (graph.isDeclarative()) {
+                    plans.add(plan(graph, method -> durations.estimateOrDefault(testClass.getName() + "#" + method, fallbackMs)));
+                }
+            }
+        }
+        if (plans.isEmpty()) {
+            return;
+        }
+        for (ClassPlan plan : plans) {
+            logger.info("DAG plan for {}: {} tests, {} edges, critical path {} (~{} ms of {} ms serial)",
+                plan.testClass(), plan.tests(), plan.edges(), String.join(" -> ", plan.criticalPath()),
+                plan.criticalPathMs(), plan.serialMs());
+        }
+        writeReport(plans, Paths.get(config.getProperty("dag.report.dir", "target/dag")));
+    }
+
+    private static ClassPlan plan(DependencyGraph graph, ToLongFunction<String> durationMs) {
+        DependencyGraph.CriticalPath criticalPath = graph.criticalPath(durationMs);
+        Map<String, Set<String>> dependencies = new TreeMap<>();
+        long serialMs = 0;
+        for (String method : graph.methods()) {
+            dependencies.put(method, graph.dependenciesOf(method));
+            serialMs += durationMs.applyAsLong(method);
+        }
+        return new ClassPlan(graph.getTestClass().getName(), graph.methods().size(), graph.edgeCount(),
+            dependencies, criticalPath.methods(), criticalPath.estimatedMs(), serialMs);
+    }
+
+    private static void writeReport(List<ClassPlan> plans, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            MAPPER.writeValue(directory.resolve("dag-plan.json").toFile(), plans);
+        } catch (IOException e) {
+            logger.warn("Failed to write DAG plan to {}: {}", directory, e.getMessage());
+        }
+    }
+}
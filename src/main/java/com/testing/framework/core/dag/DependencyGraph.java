@@ -0,0 +1,238 @@
+package com.testing.framework.core.dag;
+
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Dependency graph of the test methods of one class.
+ *
+ * An edge runs from a test to each test it waits for: every producer of a resource it
+ * {@link Consumes}, plus its explicit {@code dependsOnMethods}. Everything without a
+ * path between it can run in parallel.
+ */
+public final class DependencyGraph {
+
+    private static final Map<Class<?>, DependencyGraph> graphs = new ConcurrentHashMap<>();
+
+    private final Class<?> testClass;
+    private final Map<String, Set<String>> dependencies = new TreeMap<>();
+    private final Map<String, Set<String>> producers = new TreeMap<>();
+    private final List<String> unresolved = new ArrayList<>();
+    private boolean declarative;
+
+    /**
+     * Longest chain of dependent tests, by estimated duration
+     */
+    public record CriticalPath(List<String> methods, long estimatedMs) {
+    }
+
+    private DependencyGraph(Class<?> testClass) {
+        this.testClass = testClass;
+    }
+
+    public static DependencyGraph forClass(Class<?> testClass) {
+        return graphs.computeIfAbsent(testClass, DependencyGraph::build);
+    }
+
+    private static DependencyGraph build(Class<?> testClass) {
+        DependencyGraph graph = new DependencyGraph(testClass);
+        Map<String, String[]> consumed = new TreeMap<>();
+        for (Method method : testMethods(testClass)) {
+            String name = method.getName();
+            Set<String> waitsFor = graph.dependencies.computeIfAbsent(name, k -> new TreeSet<>());
+            Test test = method.getAnnotation(Test.class);
+            if (test != null) {
+                for (String dependency : test.dependsOnMethods()) {
+                    waitsFor.add(simpleName(dependency));
+                }
+            }
+            Produces produces = method.getAnnotation(Produces.class);
+            if (produces != null) {
+                graph.declarative = true;
+                for (String resource : produces.value()) {
+                    graph.producers.computeIfAbsent(resource, k -> new TreeSet<>()).add(name);
+                }
+            }
+            Consumes consumes = method.getAnnotation(Consumes.class);
+            if (consumes != null) {
+                graph.declarative = true;
+                consumed.put(name, consumes.value());
+            }
+        }
+        consumed.forEach((name, resources) -> {
+            for (String resource : resources) {
+                Set<String> sources = graph.producers.getOrDefault(resource, Set.of());
+                if (sources.isEmpty()) {
+                    graph.unresolved.add(name + " consumes '" + resource + "' but no test produces it");
+                }
+                sources.stream()
+                    .filter(source -> !source.equals(name))
+                    .forEach(graph.dependencies.get(name)::add);
+            }
+        });
+        return graph;
+    }
+
+    /**
+     * Whether any test of the class declares {@link Produces} or {@link Consumes}
+     */
+    public boolean isDeclarative() {
+        return declarative;
+    }
+
+    public Set<String> methods() {
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    /**
+     * Tests the given test waits for (direct dependencies only)
+     */
+    public Set<String> dependenciesOf(String method) {
+        return Collections.unmodifiableSet(dependencies.getOrDefault(method, Set.of()));
+    }
+
+    public boolean hasDependencies() {
+        return dependencies.values().stream().anyMatch(set -> !set.isEmpty());
+    }
+
+    public int edgeCount() {
+        return dependencies.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Consumed resources that nothing produces
+     */
+    public List<String> unresolved() {
+        return Collections.unmodifiableList(unresolved);
+    }
+
+    /**
+     * A dependency cycle as {@code a, b, ..., a}, if there is one
+     */
+    public Optional<List<String>> findCycle() {
+        Map<String, Integer> state = new HashMap<>();
+        Deque<String> path = new ArrayDeque<>();
+        for (String method : dependencies.keySet()) {
+            List<String> cycle = visit(method, state, path);
+            if (cycle != null) {
+                return Optional.of(cycle);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // state: absent = unvisited, 1 = on the current path, 2 = done
+    private List<String> visit(String method, Map<String, Integer> state, Deque<String> path) {
+        Integer current = state.get(method);
+        if (current != null && current == 2) {
+            return null;
+        }
+        if (current != null) {
+            List<String> onPath = new ArrayList<>(path);
+            Collections.reverse(onPath);
+            List<String> cycle = new ArrayList<>(onPath.subList(onPath.indexOf(method), onPath.size()));
+            cycle.add(method);
+            return cycle;
+        }
+        state.put(method, 1);
+        path.push(method);
+        for (String dependency : dependenciesOf(method)) {
+            if (dependencies.containsKey(dependency)) {
+                List<String> cycle = visit(dependency, state, path);
+                if (cycle != null) {
+                    return cycle;
+                }
+            }
+        }
+        path.pop();
+        state.put(method, 2);
+        return null;
+    }
+
+    /**
+     * Longest chain by estimated duration; the graph must be acyclic
+     */
+    public CriticalPath criticalPath(ToLongFunction<String> durationMs) {
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String last = null;
+        for (String method : topologicalOrder()) {
+            long start = 0;
+            for (String dependency : dependenciesOf(method)) {
+                Long end = finish.get(dependency);
+                if (end != null && end > start) {
+                    start = end;
+                    previous.put(method, dependency);
+                }
+            }
+            finish.put(method, start + durationMs.applyAsLong(method));
+            if (last == null || finish.get(method) > finish.get(last)) {
+                last = method;
+            }
+        }
+        LinkedList<String> chain = new LinkedList<>();
+        for (String method = last; method != null; method = previous.get(method)) {
+            chain.addFirst(method);
+        }
+        return new CriticalPath(chain, last == null ? 0 : finish.get(last));
+    }
+
+    private List<String> topologicalOrder() {
+        List<String> order = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+        for (String method : dependencies.keySet()) {
+            addInOrder(method, done, order);
+        }
+        return order;
+    }
+
+    private void addInOrder(String method, Set<String> done, List<String> order) {
+        if (!done.add(method)) {
+            return;
+        }
+        for (String dependency : dependenciesOf(method)) {
+            if (dependencies.containsKey(dependency)) {
+                addInOrder(dependency, done, order);
+            }
+        }
+        order.add(method);
+    }
+
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * {@code dependsOnMethods} may be qualified with the class name
+     */
+    private static String simpleName(String dependency) {
+        int dot = dependency.lastIndexOf('.');
+        return dot >= 0 ? dependency.substring(dot + 1) : dependency;
+    }
+
+    private static List<Method> testMethods(Class<?> testClass) {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : testClass.getMethods()) {
+            if (method.getDeclaringClass() == Object.class || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.isAnnotationPresent(Test.class)
+                || (method.getDeclaringClass().isAnnotationPresent(Test.class) && !isConfiguration(method))) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private static boolean isConfiguration(Method method) {
+        return Arrays.stream(method.getAnnotations())
+            .map(a -> a.annotationType().getName())
+            .anyMatch(name -> name.startsWith("org.testng.annotations.Before")
+                || name.startsWith("org.testng.annotations.After"));
+    }
+}
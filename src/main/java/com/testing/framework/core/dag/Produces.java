@@ -0,0 +1,16 @@
+package com.testing.framework.core.dag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Resources (data, state, verified capabilities) a test makes available to other
+ * tests of the same class. Tests that {@link Consumes} one of them run after it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Produces {
+    String[] value();
+}
@@ -0,0 +1,73 @@
+package com.testing.framework.core.dag;
+
+import com.testing.framework.core.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IExecutorServiceFactory;
+import org.testng.ISuite;
+import org.testng.SuiteRunner;
+import org.testng.internal.IConfiguration;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Backs TestNG's graph executor with a work-stealing {@link ForkJoinPool}.
+ *
+ * TestNG submits every test whose dependencies are done; idle workers steal from the
+ * queues of busy ones instead of contending on one shared queue. Surefire cannot pass
+ * TestNG's {@code -threadpoolfactoryclass} option, so {@link DagListener} installs the
+ * factory with {@link #install(ISuite)}; {@code dag.work.stealing=false} falls back to
+ * TestNG's regular thread pool.
+ */
+public class WorkStealingExecutorFactory implements IExecutorServiceFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkStealingExecutorFactory.class);
+    private static final AtomicInteger poolIds = new AtomicInteger();
+
+    /**
+     * Make the TestNG run of this suite create its test pools through this factory
+     */
+    static void install(ISuite suite) {
+        if (!(suite instanceof SuiteRunner)) {
+            return;
+        }
+        try {
+            // A single-field lookup: reflecting over all fields would load optional Guice types
+            IConfiguration configuration = (IConfiguration) MethodHandles
+                .privateLookupIn(SuiteRunner.class, MethodHandles.lookup())
+                .findGetter(SuiteRunner.class, "configuration", IConfiguration.class)
+                .invoke(suite);
+            if (!(configuration.getExecutorServiceFactory() instanceof WorkStealingExecutorFactory)) {
+                configuration.setExecutorServiceFactory(new WorkStealingExecutorFactory());
+            }
+        } catch (Throwable e) {
+            logger.warn("Work-stealing pool not installed, using TestNG's default pool: {}", e.toString());
+        }
+    }
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        if (!Boolean.parseBoolean(ConfigManager.getInstance().getProperty("dag.work.stealing", "true"))) {
+            return new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+        }
+        String prefix = "TestNG-dag-" + poolIds.incrementAndGet() + "-";
+        AtomicInteger workerIds = new AtomicInteger();
+        // Workers default to the system class loader; keep the one the tests were loaded with
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return new ForkJoinPool(Math.max(1, maxPoolSize), pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName(prefix + workerIds.incrementAndGet());
+            worker.setContextClassLoader(classLoader);
+            return worker;
+        }, null, true);
+    }
+}
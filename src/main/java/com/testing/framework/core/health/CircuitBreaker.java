@@ -0,0 +1,82 @@
+package com.testing.framework.core.health;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run-wide circuit breaker for one target endpoint ({@code host:port}).
+ *
+ * The breaker opens when a health probe fails or after {@code threshold} consecutive
+ * connection failures, and then stays open for the rest of the run: a backend that
+ * went away mid-run rarely comes back in time to make waiting worthwhile.
+ * Breakers are shared by every environment pointing at the same endpoint.
+ */
+public class CircuitBreaker {
+
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private final String endpoint;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile String openReason;
+
+    private CircuitBreaker(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static CircuitBreaker forUrl(String url) {
+        return BREAKERS.computeIfAbsent(endpointOf(url), CircuitBreaker::new);
+    }
+
+    public static Map<String, CircuitBreaker> all() {
+        return Map.copyOf(BREAKERS);
+    }
+
+    public boolean isOpen() {
+        return openReason != null;
+    }
+
+    public String getOpenReason() {
+        return openReason;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public synchronized void open(String reason) {
+        if (openReason == null) {
+            openReason = reason;
+        }
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Count a connection failure; true when this failure tripped the breaker
+     */
+    public boolean recordConnectionFailure(String detail, int threshold) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= threshold && !isOpen()) {
+            open(failures + " consecutive connection failures, last: " + detail);
+            return true;
+        }
+        return false;
+    }
+
+    static String endpointOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                return url;
+            }
+            int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+            return uri.getHost() + ":" + port;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.testing.framework.core.health;
+
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.listeners.MultiEnvironmentListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.*;
+
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Suite-level circuit breaker for the API and UI targets.
+ *
+ * At suite start the targets required by its tests ({@link RequiresTarget}) are probed
+ * in parallel with a short timeout; an unhealthy target opens its breaker. While the
+ * suite runs, {@code health.breaker.failure.threshold} consecutive test failures caused
+ * by connection errors also open it. Tests requiring an open target are skipped
+ * immediately, with the breaker's reason as skip message.
+ */
+public class CircuitBreakerListener implements ISuiteListener, IInvokedMethodListener, ITestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        String env = suite.getParameter(MultiEnvironmentListener.ENV_PARAMETER);
+        ConfigManager config = env != null ? ConfigManager.forEnvironment(env) : ConfigManager.getInstance();
+        if (!isEnabled(config)) {
+            return;
+        }
+
+        Set<HealthTarget> targets = EnumSet.noneOf(HealthTarget.class);
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            targets.addAll(requiredTargets(method));
+        }
+        HealthProbe probe = new HealthProbe(
+            Duration.ofMillis(Long.parseLong(config.getProperty("health.probe.timeout.ms", "2000"))),
+            HealthProbe.statuses(config.getProperty("health.probe.healthy.statuses", "200-299")));
+
+        Map<HealthTarget, CompletableFuture<HealthProbe.Result>> probes = new EnumMap<>(HealthTarget.class);
+        for (HealthTarget target : targets) {
+            if (target.baseUrl(config) != null) {
+                String url = target.probeUrl(config);
+                probes.put(target, CompletableFuture.supplyAsync(() -> probe.probe(url)));
+            }
+        }
+        probes.forEach((target, future) -> {
+            HealthProbe.Result result = future.join();
+            CircuitBreaker breaker = CircuitBreaker.forUrl(target.baseUrl(config));
+            if (result.healthy()) {
+                logger.info("Health probe {} [{}]: {}", target, config.getEnvironment(), result.describe());
+            } else {
+                breaker.open("health probe failed - " + result.describe());
+                logger.error("Health probe {} [{}]: {} - dependent tests will be skipped",
+                    target, config.getEnvironment(), result.describe());
+            }
+        });
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        CircuitBreaker.all().values().stream()
+            .filter(CircuitBreaker::isOpen)
+            .forEach(breaker -> logger.error("Circuit breaker open for {}: {}",
+                breaker.getEndpoint(), breaker.getOpenReason()));
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        if (!isEnabled(config)) {
+            return;
+        }
+        for (HealthTarget target : requiredTargets(method.getTestMethod())) {
+            String baseUrl = target.baseUrl(config);
+            if (baseUrl == null) {
+                continue;
+            }
+            CircuitBreaker breaker = CircuitBreaker.forUrl(baseUrl);
+            if (breaker.isOpen()) {
+                throw new SkipException(String.format("%s circuit breaker open for %s: %s",
+                    target, breaker.getEndpoint(), breaker.getOpenReason()));
+            }
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        ConfigManager config = configOf(result);
+        for (HealthTarget target : requiredTargets(result.getMethod())) {
+            if (target.baseUrl(config) != null) {
+                CircuitBreaker.forUrl(target.baseUrl(config)).recordSuccess();
+            }
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        Throwable connectionFailure = connectionFailure(result.getThrowable());
+        if (connectionFailure == null) {
+            return;
+        }
+        ConfigManager config = configOf(result);
+        int threshold = Integer.parseInt(config.getProperty("health.breaker.failure.threshold", "3"));
+        for (HealthTarget target : requiredTargets(result.getMethod())) {
+            String baseUrl = target.baseUrl(config);
+            if (baseUrl != null && CircuitBreaker.forUrl(baseUrl)
+                .recordConnectionFailure(connectionFailure.toString(), threshold)) {
+                logger.error("{} circuit breaker tripped for {} after {} consecutive connection failures",
+                    target, CircuitBreaker.endpointOf(baseUrl), threshold);
+            }
+        }
+    }
+
+    /**
+     * Targets from {@link RequiresTarget} on the method, or else on its class
+     */
+    static Set<HealthTarget> requiredTargets(ITestNGMethod method) {
+        Method javaMethod = method.getConstructorOrMethod().getMethod();
+        RequiresTarget annotation = javaMethod != null ? javaMethod.getAnnotation(RequiresTarget.class) : null;
+        if (annotation == null) {
+            Class<?> testClass = method.getRealClass();
+            annotation = testClass.getAnnotation(RequiresTarget.class);
+        }
+        if (annotation == null || annotation.value().length == 0) {
+            return Set.of();
+        }
+        return EnumSet.copyOf(Arrays.asList(annotation.value()));
+    }
+
+    /**
+     * The connection-level cause of a failure, or null for ordinary assertion failures
+     */
+    static Throwable connectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof SocketTimeoutException
+                || cause instanceof NoRouteToHostException || cause instanceof UnknownHostException
+                || cause instanceof HttpTimeoutException) {
+                return cause;
+            }
+            // Playwright reports navigation failures as plain errors with the browser's net error
+            String message = cause.getMessage();
+            if (message != null && (message.contains("ERR_CONNECTION_REFUSED")
+                || message.contains("ERR_CONNECTION_RESET") || message.contains("ERR_NAME_NOT_RESOLVED")
+                || message.contains("NS_ERROR_CONNECTION_REFUSED"))) {
+                return cause;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Configuration the test ran with; result listeners run after the environment context is cleared
+     */
+    private static ConfigManager configOf(ITestResult result) {
+        Object env = result.getAttribute(MultiEnvironmentListener.ENVIRONMENT_ATTRIBUTE);
+        return env != null ? ConfigManager.forEnvironment(env.toString()) : ConfigManager.getInstance();
+    }
+
+    private static boolean isEnabled(ConfigManager config) {
+        return Boolean.parseBoolean(config.getProperty("health.breaker.enabled", "true"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.testing.framework.core.health;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.IntPredicate;
+
+/**
+ * Fast reachability check of a target URL. Only the configured statuses count as
+ * healthy (2xx by default): an auth wall or a missing health route is not a working
+ * target, and neither are connection errors, timeouts and server errors.
+ */
+public class HealthProbe {
+
+    /**
+     * Outcome of one probe; {@code status} is -1 when no response was received
+     */
+    public record Result(String url, boolean healthy, int status, long latencyMs, String error) {
+
+        public String describe() {
+            return healthy
+                ? String.format("%s answered %d in %d ms", url, status, latencyMs)
+                : String.format("%s unhealthy after %d ms: %s", url, latencyMs, error);
+        }
+    }
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final IntPredicate healthyStatus;
+
+    public HealthProbe(Duration timeout) {
+        this(timeout, status -> status >= 200 && status < 300);
+    }
+
+    public HealthProbe(Duration timeout, IntPredicate healthyStatus) {
+        this.timeout = timeout;
+        this.healthyStatus = healthyStatus;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    public Result probe(String url) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latencyMs = elapsedMs(start);
+            boolean healthy = healthyStatus.test(response.statusCode());
+            return new Result(url, healthy, response.statusCode(), latencyMs,
+                healthy ? null : "HTTP " + response.statusCode());
+        } catch (IOException | IllegalArgumentException e) {
+            return new Result(url, false, -1, elapsedMs(start), e.getClass().getSimpleName()
+                + (e.getMessage() != null ? ": " + e.getMessage() : ""));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(url, false, -1, elapsedMs(start), "interrupted");
+        }
+    }
+
+    /**
+     * Statuses from a list of codes and inclusive ranges, e.g. {@code 200-299,401}
+     */
+    public static IntPredicate statuses(String spec) {
+        IntPredicate matches = status -> false;
+        for (String part : spec.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int dash = trimmed.indexOf('-');
+            int low = Integer.parseInt((dash < 0 ? trimmed : trimmed.substring(0, dash)).trim());
+            int high = dash < 0 ? low : Integer.parseInt(trimmed.substring(dash + 1).trim());
+            matches = matches.or(status -> status >= low && status <= high);
+        }
+        return matches;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,37 @@
+package com.testing.framework.core.health;
+
+import com.testing.framework.core.config.ConfigManager;
+
+/**
+ * Systems under test that tests can depend on
+ */
+public enum HealthTarget {
+
+    API {
+        @Override
+        public String baseUrl(ConfigManager config) {
+            return config.getApiBaseUrl();
+        }
+
+        @Override
+        public String probeUrl(ConfigManager config) {
+            return config.getApiBaseUrl() + config.getProperty("health.api.path", "/health");
+        }
+    },
+
+    UI {
+        @Override
+        public String baseUrl(ConfigManager config) {
+            return config.getUiBaseUrl();
+        }
+
+        @Override
+        public String probeUrl(ConfigManager config) {
+            return config.getUiBaseUrl();
+        }
+    };
+
+    public abstract String baseUrl(ConfigManager config);
+
+    public abstract String probeUrl(ConfigManager config);
+}
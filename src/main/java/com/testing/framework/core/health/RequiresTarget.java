@@ -0,0 +1,16 @@
+package com.testing.framework.core.health;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the systems a test class or method needs. When the circuit breaker of one
+ * of them is open, the test is skipped instead of waiting for timeouts.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RequiresTarget {
+    HealthTarget[] value();
+}
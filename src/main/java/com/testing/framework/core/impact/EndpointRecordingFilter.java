@@ -0,0 +1,71 @@
+package com.testing.framework.core.impact;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * RestAssured filter reporting each called endpoint to the {@link ImpactRecorder}.
+ *
+ * Numeric and UUID path segments are replaced by {@code {id}} and a tenant prefix
+ * ({@code /tenants/{tenant}}) is removed, so calls map onto the route templates declared
+ * by the backend controllers. Admin calls (tenants, snapshots) are framework traffic and
+ * not recorded.
+ */
+public class EndpointRecordingFilter implements Filter {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+        "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern TENANT_PREFIX = Pattern.compile("/tenants/[^/]+(?=/)");
+    private static final Pattern ADMIN_ROUTE = Pattern.compile("(^|/)admin(/|$)");
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String path = URI.create(requestSpec.getURI()).getPath();
+        if (!isAdmin(path)) {
+            ImpactRecorder.touchEndpoint(requestSpec.getMethod(), route(path));
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    /**
+     * Route of a concrete path without its tenant prefix, e.g.
+     * {@code /api/tenants/t1/users/42} to {@code /api/users/{id}}
+     */
+    public static String route(String path) {
+        return template(TENANT_PREFIX.matcher(path == null ? "" : path).replaceFirst(""));
+    }
+
+    /**
+     * Whether a path is an admin call (tenants, snapshots) rather than API traffic
+     */
+    public static boolean isAdmin(String path) {
+        return path != null && ADMIN_ROUTE.matcher(path).find();
+    }
+
+    /**
+     * Route template of a concrete path, e.g. {@code /api/users/42} to {@code /api/users/{id}}
+     */
+    public static String template(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder template = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(
+                ID_SEGMENT.matcher(segment).matches() || (segment.startsWith("{") && segment.endsWith("}"))
+                    ? "{id}" : segment);
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+}
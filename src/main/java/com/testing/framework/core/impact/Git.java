@@ -0,0 +1,84 @@
+package com.testing.framework.core.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal wrapper around the {@code git} command line.
+ * Every method returns null when git is unavailable or the command fails.
+ */
+class Git {
+
+    private static final Logger logger = LoggerFactory.getLogger(Git.class);
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final Path workTree;
+
+    Git(Path workTree) {
+        this.workTree = workTree;
+    }
+
+    String head() {
+        String out = run("rev-parse", "HEAD");
+        return out == null ? null : out.trim();
+    }
+
+    String mergeBase(String ref) {
+        String out = run("merge-base", ref, "HEAD");
+        return out == null ? null : out.trim();
+    }
+
+    boolean isAncestor(String commit) {
+        return run("merge-base", "--is-ancestor", commit, "HEAD") != null;
+    }
+
+    /**
+     * Files changed since {@code commit}, including uncommitted and untracked files
+     */
+    List<String> changedFiles(String commit) {
+        String changed = run("diff", "--name-only", "--no-renames", commit);
+        String untracked = run("ls-files", "--others", "--exclude-standard");
+        if (changed == null || untracked == null) {
+            return null;
+        }
+        return (changed + "\n" + untracked).lines().map(String::trim).filter(l -> !l.isEmpty()).distinct().toList();
+    }
+
+    /**
+     * Zero-context diff of one file since {@code commit}
+     */
+    String diff(String commit, String file) {
+        return run("diff", "-U0", "--no-renames", commit, "--", file);
+    }
+
+    private String run(String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command)
+                .directory(workTree.toFile())
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            String out = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            return process.exitValue() == 0 ? out : null;
+        } catch (IOException e) {
+            logger.debug("git {} failed: {}", Arrays.toString(args), e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
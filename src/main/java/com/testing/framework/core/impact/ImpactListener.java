@@ -0,0 +1,270 @@
+package com.testing.framework.core.impact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.dag.DependencyGraph;
+import com.testing.framework.core.listeners.TestIds;
+import com.testing.framework.core.sharding.ShardPlanner;
+import com.testing.framework.core.sharding.ShardingListener;
+import io.restassured.RestAssured;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.*;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Test impact analysis: records what every test touches, and later runs only the
+ * tests affected by a git diff.
+ *
+ * <ul>
+ *   <li>{@code impact.mode=record} - full run that writes {@code impact-map.json} to the
+ *       history directory (classes, page objects, endpoints and config keys per test)</li>
+ *   <li>{@code impact.mode=select} - diffs the work tree against the merge base with
+ *       {@code impact.base} (or takes {@code impact.changed.files}) and keeps only the
+ *       affected tests, tests missing from the map and their dependencies</li>
+ * </ul>
+ * Selection falls back to the full run when the map is missing, older than
+ * {@code impact.max.age.days}, recorded on a commit outside the current history, or
+ * when a changed file cannot be mapped.
+ */
+public class ImpactListener implements IAlterSuiteListener, ISuiteListener, IInvokedMethodListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpactListener.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigManager config = ConfigManager.getInstance();
+        String mode = config.getProperty("impact.mode", "off").trim().toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "off" -> {
+            }
+            case "record" -> {
+                if (!ImpactRecorder.TRACK_CONFIG) {
+                    throw new IllegalStateException(
+                        "impact.mode=record must be set as a system property (-Dimpact.mode=record) to record config reads");
+                }
+                ImpactRecorder.start();
+                RestAssured.filters(new EndpointRecordingFilter());
+                logger.info("Impact recording enabled");
+            }
+            case "select" -> {
+                ImpactSelector.Selection selection = analyse(config, suiteClasses(suites));
+                writeReport(selection, Paths.get(config.getProperty("impact.report.dir", "target/impact")));
+                if (selection.fullRun()) {
+                    logger.warn("Impact analysis: running all tests ({})", selection.reason());
+                } else {
+                    apply(suites, selection, ImpactMap.read(historyDirectory(config)));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown impact.mode: " + mode + " (off, record, select)");
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!ImpactRecorder.isRecording()) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            ImpactRecorder.enter(TestIds.of(testResult));
+        } else if (testMethod.isBeforeClassConfiguration() || testMethod.isAfterClassConfiguration()
+            || testMethod.isBeforeMethodConfiguration() || testMethod.isAfterMethodConfiguration()) {
+            ImpactRecorder.enter(ImpactRecorder.classScope(testMethod.getRealClass()));
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ImpactRecorder.exit();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!ImpactRecorder.isRecording()) {
+            return;
+        }
+        Map<String, ImpactMap.TestUsage> usages = new TreeMap<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            usages.put(TestIds.of(method), usageOf(method));
+        }
+
+        Path historyDirectory = historyDirectory(ConfigManager.getInstance());
+        synchronized (ImpactListener.class) {
+            ImpactMap existing = ImpactMap.read(historyDirectory);
+            ImpactMap updated = (existing != null ? existing : new ImpactMap(null, 0, Map.of()))
+                .mergedWith(usages, new Git(Paths.get("").toAbsolutePath()).head(), System.currentTimeMillis());
+            try {
+                updated.save(historyDirectory);
+                logger.info("Impact map updated with {} tests ({} total)", usages.size(), updated.tests().size());
+            } catch (IOException e) {
+                logger.warn("Failed to save impact map to {}: {}", historyDirectory, e.getMessage());
+            }
+        }
+    }
+
+    private static ImpactMap.TestUsage usageOf(ITestNGMethod method) {
+        String testId = TestIds.of(method);
+        String classScope = ImpactRecorder.classScope(method.getRealClass());
+
+        Set<String> classes = new TreeSet<>();
+        for (Class<?> type = method.getRealClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            classes.add(type.getName());
+        }
+        classes.addAll(ImpactRecorder.usage(testId, ImpactRecorder.Kind.CLASS));
+        classes.addAll(ImpactRecorder.usage(classScope, ImpactRecorder.Kind.CLASS));
+
+        return new ImpactMap.TestUsage(
+            classes,
+            union(testId, classScope, ImpactRecorder.Kind.PAGE),
+            union(testId, classScope, ImpactRecorder.Kind.ENDPOINT),
+            union(testId, classScope, ImpactRecorder.Kind.CONFIG));
+    }
+
+    private static Set<String> union(String testId, String classScope, ImpactRecorder.Kind kind) {
+        Set<String> values = new TreeSet<>(ImpactRecorder.usage(testId, kind));
+        values.addAll(ImpactRecorder.usage(classScope, kind));
+        return values;
+    }
+
+    private static Set<String> suiteClasses(List<XmlSuite> suites) {
+        Set<String> classes = new HashSet<>();
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    classes.add(xmlClass.getName());
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static ImpactSelector.Selection analyse(ConfigManager config, Set<String> suiteClasses) {
+        ImpactMap map = ImpactMap.read(historyDirectory(config));
+        if (map == null) {
+            return ImpactSelector.Selection.full("no impact map recorded", List.of());
+        }
+        long maxAgeMs = Duration.ofDays(Long.parseLong(config.getProperty("impact.max.age.days", "7"))).toMillis();
+        if (System.currentTimeMillis() - map.recordedAt() > maxAgeMs) {
+            return ImpactSelector.Selection.full("impact map is older than impact.max.age.days", List.of());
+        }
+
+        Path projectRoot = Paths.get("").toAbsolutePath();
+        Git git = new Git(projectRoot);
+        if (map.commit() != null && git.head() != null && !git.isAncestor(map.commit())) {
+            return ImpactSelector.Selection.full("impact map was recorded on " + map.commit()
+                + ", which is not in the current history", List.of());
+        }
+
+        List<String> changedFiles;
+        String mergeBase = null;
+        String explicit = config.getProperty("impact.changed.files", "");
+        if (!explicit.isBlank()) {
+            changedFiles = Arrays.stream(explicit.split(",")).map(String::trim).filter(f -> !f.isEmpty()).toList();
+        } else {
+            String base = config.getProperty("impact.base", "origin/main");
+            mergeBase = git.mergeBase(base);
+            changedFiles = mergeBase != null ? git.changedFiles(mergeBase) : null;
+            if (changedFiles == null) {
+                return ImpactSelector.Selection.full("cannot diff against " + base, List.of());
+            }
+        }
+
+        String diffBase = mergeBase;
+        ImpactSelector.Settings settings = new ImpactSelector.Settings(
+            List.of(config.getProperty("impact.ignore", "").split(",")),
+            List.of(config.getProperty("impact.full.run", "").split(",")),
+            config.getProperty("impact.backend.dir", ""),
+            config.getProperty("impact.frontend.dir", ""));
+        return new ImpactSelector(map, projectRoot, settings, suiteClasses, file -> diffBase != null ? git.diff(diffBase, file) : null)
+            .select(changedFiles);
+    }
+
+    /**
+     * Restrict the suites to the selection, keeping unmapped tests and dependencies of selected ones
+     */
+    private static void apply(List<XmlSuite> suites, ImpactSelector.Selection selection, ImpactMap map) {
+        Set<String> selected = new HashSet<>();
+        int total = 0;
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    Class<?> testClass = xmlClass.getSupportClass();
+                    List<String> methods = ShardPlanner.testMethods(testClass, xmlClass);
+                    total += methods.size();
+                    Set<String> names = new HashSet<>();
+                    for (String method : methods) {
+                        String id = testClass.getName() + "#" + method;
+                        if (selection.testClasses().contains(testClass.getName())
+                            || selection.testIds().contains(id)
+                            || !map.tests().containsKey(id)) {
+                            names.add(method);
+                        }
+                    }
+                    addDependencies(testClass, names, methods);
+                    names.forEach(name -> selected.add(testClass.getName() + "#" + name));
+                }
+            }
+        }
+
+        for (XmlSuite suite : suites) {
+            List<XmlTest> kept = new ArrayList<>();
+            for (XmlTest test : suite.getTests()) {
+                // Package-based tests cannot be narrowed and always run
+                if (!test.getXmlPackages().isEmpty() || ShardingListener.restrict(test, selected)) {
+                    kept.add(test);
+                }
+            }
+            suite.setTests(kept);
+        }
+        logger.info("Impact analysis: {} - running {} of {} tests", selection.reason(), selected.size(), total);
+    }
+
+    private static void addDependencies(Class<?> testClass, Set<String> names, List<String> available) {
+        DependencyGraph graph = DependencyGraph.forClass(testClass);
+        Deque<String> pending = new ArrayDeque<>(names);
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            for (Method method : testClass.getMethods()) {
+                Test annotation = method.getAnnotation(Test.class);
+                if (!method.getName().equals(name) || annotation == null) {
+                    continue;
+                }
+                // Explicit dependsOnMethods plus producers of consumed resources
+                Collection<String> dependencies = annotation.dependsOnGroups().length > 0
+                    ? available : graph.dependenciesOf(name);
+                for (String dependency : dependencies) {
+                    if (available.contains(dependency) && names.add(dependency)) {
+                        pending.push(dependency);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeReport(ImpactSelector.Selection selection, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            MAPPER.writeValue(directory.resolve("impact-selection.json").toFile(), selection);
+        } catch (IOException e) {
+            logger.warn("Failed to write impact selection report to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static Path historyDirectory(ConfigManager config) {
+        return Paths.get(config.getProperty("history.dir", ".test-history"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.testing.framework.core.impact;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Recorded test-to-dependency mapping ({@code impact-map.json} in the history directory).
+ *
+ * @param commit     git commit the mapping was recorded on, null when unknown
+ * @param recordedAt epoch millis of the recording run
+ * @param tests      usage per test ID
+ */
+public record ImpactMap(String commit, long recordedAt, Map<String, TestUsage> tests) {
+
+    public static final String FILE_NAME = "impact-map.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * Everything one test was seen to depend on
+     */
+    public record TestUsage(Set<String> classes, Set<String> pages, Set<String> endpoints, Set<String> configKeys) {
+    }
+
+    /**
+     * Recorded mapping, or null when there is none or it cannot be read
+     */
+    public static ImpactMap read(Path historyDirectory) {
+        Path file = historyDirectory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(file.toFile(), ImpactMap.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copy with {@code updates} replacing the entries of the same tests
+     */
+    public ImpactMap mergedWith(Map<String, TestUsage> updates, String newCommit, long newRecordedAt) {
+        Map<String, TestUsage> merged = new TreeMap<>(tests);
+        merged.putAll(updates);
+        return new ImpactMap(newCommit, newRecordedAt, merged);
+    }
+
+    public void save(Path historyDirectory) throws IOException {
+        Files.createDirectories(historyDirectory);
+        Path tmp = historyDirectory.resolve(FILE_NAME + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), this);
+        Files.move(tmp, historyDirectory.resolve(FILE_NAME),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
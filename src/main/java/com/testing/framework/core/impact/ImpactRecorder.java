@@ -0,0 +1,125 @@
+package com.testing.framework.core.impact;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects what each test touches while impact recording is on.
+ *
+ * Framework code reports usage through the {@code touch*} methods; usage is attributed
+ * to the scope bound to the current thread (a test ID, or a class scope for
+ * configuration methods). Outside a scope, or when recording is off, calls are no-ops
+ * costing a single volatile read. Config reads are on the hottest path, so
+ * {@link com.testing.framework.core.config.ConfigManager} only reports them when {@link #TRACK_CONFIG} is set; being a
+ * constant, the check is compiled away in normal runs.
+ */
+public final class ImpactRecorder {
+
+    /**
+     * Kinds of things a test can depend on
+     */
+    public enum Kind {
+        CLASS, PAGE, ENDPOINT, CONFIG
+    }
+
+    /**
+     * Whether config reads are reported, fixed at startup by {@code -Dimpact.mode=record}
+     */
+    public static final boolean TRACK_CONFIG =
+        "record".equalsIgnoreCase(System.getProperty("impact.mode", "").trim());
+
+    private static final String CLASS_SCOPE_PREFIX = "class:";
+
+    private static volatile boolean recording;
+    private static final ThreadLocal<String> scope = new ThreadLocal<>();
+    private static final Map<String, Map<Kind, Set<String>>> usage = new ConcurrentHashMap<>();
+
+    private ImpactRecorder() {
+    }
+
+    public static void start() {
+        recording = true;
+    }
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    public static void enter(String scopeId) {
+        scope.set(scopeId);
+    }
+
+    public static void exit() {
+        scope.remove();
+    }
+
+    /**
+     * Scope shared by all tests of a class (constructor and configuration methods)
+     */
+    public static String classScope(Class<?> testClass) {
+        return CLASS_SCOPE_PREFIX + testClass.getName();
+    }
+
+    /**
+     * Run {@code body} in the class scope of {@code type} unless a scope is already bound,
+     * so usage during test class construction is not lost
+     */
+    public static void inClassScope(Class<?> type, Runnable body) {
+        if (!recording || scope.get() != null) {
+            body.run();
+            return;
+        }
+        scope.set(classScope(type));
+        try {
+            body.run();
+        } finally {
+            scope.remove();
+        }
+    }
+
+    /**
+     * Record a class together with its superclasses
+     */
+    public static void touchClass(Class<?> type) {
+        if (!recording) {
+            return;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            touch(Kind.CLASS, current.getName());
+        }
+    }
+
+    public static void touchPage(Class<?> pageType) {
+        touch(Kind.PAGE, pageType.getName());
+        touchClass(pageType);
+    }
+
+    public static void touchConfig(String key) {
+        touch(Kind.CONFIG, key);
+    }
+
+    public static void touchEndpoint(String method, String pathTemplate) {
+        touch(Kind.ENDPOINT, method + " " + pathTemplate);
+    }
+
+    public static void touch(Kind kind, String value) {
+        if (!recording) {
+            return;
+        }
+        String current = scope.get();
+        if (current != null) {
+            usage.computeIfAbsent(current, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(kind, k -> ConcurrentHashMap.newKeySet())
+                .add(value);
+        }
+    }
+
+    /**
+     * Usage recorded for one scope, empty when nothing was touched
+     */
+    static Set<String> usage(String scopeId, Kind kind) {
+        Map<Kind, Set<String>> byKind = usage.get(scopeId);
+        return byKind == null ? Set.of() : byKind.getOrDefault(kind, Set.of());
+    }
+}
@@ -0,0 +1,200 @@
+package com.testing.framework.core.impact;
+
+import com.testing.framework.ui.utils.BrowserManager;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps changed files onto the tests that depend on them.
+ *
+ * <ul>
+ *   <li>Framework and test sources select tests that used the class (test classes
+ *       declared in the suites also select themselves, so new tests always run)</li>
+ *   <li>Config files select tests that read one of the changed keys</li>
+ *   <li>Backend controllers select tests that called one of their routes; other backend
+ *       files select every test that called the API</li>
+ *   <li>Frontend files select every test that drove a browser</li>
+ * </ul>
+ * Ignored files are skipped. Build/suite files and anything that cannot be mapped
+ * fall back to the full run.
+ */
+public class ImpactSelector {
+
+    private static final Pattern CLASS_MAPPING = Pattern.compile(
+        "@RequestMapping\\(\\s*(?:(?:value|path)\\s*=\\s*)?\"([^\"]*)\"[^)]*\\)\\s*(?:@\\w+(?:\\([^)]*\\))?\\s*)*public\\s+class");
+    private static final Pattern METHOD_MAPPING = Pattern.compile(
+        "@(Get|Post|Put|Delete|Patch)Mapping(?:\\(\\s*(?:(?:value|path)\\s*=\\s*)?\"([^\"]*)\"[^)]*\\))?");
+
+    private final ImpactMap map;
+    private final Path projectRoot;
+    private final Settings settings;
+    private final Set<String> suiteClasses;
+    private final Function<String, String> diffOf;
+
+    /**
+     * Path rules, as globs relative to the project root
+     */
+    public record Settings(List<String> ignored, List<String> fullRun, String backendDir, String frontendDir) {
+    }
+
+    /**
+     * Outcome of the analysis; {@code testClasses} selects every method of a class
+     */
+    public record Selection(boolean fullRun, String reason, Set<String> testIds, Set<String> testClasses,
+                            List<String> changedFiles) {
+
+        static Selection full(String reason, List<String> changedFiles) {
+            return new Selection(true, reason, Set.of(), Set.of(), changedFiles);
+        }
+    }
+
+    /**
+     * @param suiteClasses test classes declared in the suites
+     * @param diffOf       zero-context diff of a changed file, null when unavailable
+     */
+    public ImpactSelector(ImpactMap map, Path projectRoot, Settings settings, Set<String> suiteClasses,
+                          Function<String, String> diffOf) {
+        this.map = map;
+        this.projectRoot = projectRoot;
+        this.settings = settings;
+        this.suiteClasses = suiteClasses;
+        this.diffOf = diffOf;
+    }
+
+    public Selection select(List<String> changedFiles) {
+        List<PathMatcher> ignored = matchers(settings.ignored());
+        List<PathMatcher> fullRun = matchers(settings.fullRun());
+        Set<String> testIds = new TreeSet<>();
+        Set<String> testClasses = new TreeSet<>();
+
+        for (String file : changedFiles) {
+            Path path = Paths.get(file);
+            if (matchesAny(ignored, path)) {
+                continue;
+            }
+            if (matchesAny(fullRun, path)) {
+                return Selection.full("build or suite file changed: " + file, changedFiles);
+            }
+
+            if (file.endsWith(".java") && (file.startsWith("src/main/java/") || file.startsWith("src/test/java/"))) {
+                // src/main/java/ and src/test/java/ have the same length
+                String className = file.substring("src/main/java/".length(), file.length() - ".java".length())
+                    .replace('/', '.');
+                Set<String> users = testsWhere(usage -> usesClass(usage.classes(), className)
+                    || usesClass(usage.pages(), className));
+                if (file.startsWith("src/test/java/") && suiteClasses.contains(className)) {
+                    testClasses.add(className);
+                } else if (users.isEmpty()) {
+                    return Selection.full("no recorded test uses " + className, changedFiles);
+                }
+                testIds.addAll(users);
+            } else if (file.startsWith("src/") && file.contains("/resources/config/") && file.endsWith(".properties")) {
+                Set<String> keys = changedKeys(diffOf.apply(file));
+                if (keys == null) {
+                    return Selection.full("cannot determine changed keys in " + file, changedFiles);
+                }
+                testIds.addAll(testsWhere(usage -> !Collections.disjoint(usage.configKeys(), keys)));
+            } else if (isUnder(file, settings.backendDir())) {
+                Set<String> endpoints = file.endsWith(".java") ? controllerEndpoints(file) : Set.of();
+                testIds.addAll(endpoints.isEmpty()
+                    ? testsWhere(usage -> !usage.endpoints().isEmpty())
+                    : testsWhere(usage -> !Collections.disjoint(usage.endpoints(), endpoints)));
+            } else if (isUnder(file, settings.frontendDir())) {
+                testIds.addAll(testsWhere(usage -> !usage.pages().isEmpty()
+                    || usage.classes().contains(BrowserManager.class.getName())));
+            } else {
+                return Selection.full("no mapping for changed file " + file, changedFiles);
+            }
+        }
+
+        String reason = String.format("%d changed files affect %d tests and %d test classes",
+            changedFiles.size(), testIds.size(), testClasses.size());
+        return new Selection(false, reason, testIds, testClasses, changedFiles);
+    }
+
+    private Set<String> testsWhere(Predicate<ImpactMap.TestUsage> condition) {
+        Set<String> ids = new TreeSet<>();
+        map.tests().forEach((id, usage) -> {
+            if (condition.test(usage)) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    private static boolean usesClass(Set<String> used, String className) {
+        return used.stream().anyMatch(name -> name.equals(className) || name.startsWith(className + "$"));
+    }
+
+    /**
+     * Property keys added, removed or changed in a diff; null when there is no diff
+     */
+    static Set<String> changedKeys(String diff) {
+        if (diff == null) {
+            return null;
+        }
+        Set<String> keys = new TreeSet<>();
+        for (String line : diff.lines().toList()) {
+            if (line.startsWith("+++") || line.startsWith("---")
+                || !(line.startsWith("+") || line.startsWith("-"))) {
+                continue;
+            }
+            String content = line.substring(1).trim();
+            if (content.isEmpty() || content.startsWith("#") || content.startsWith("!")) {
+                continue;
+            }
+            int separator = content.indexOf('=') >= 0 ? content.indexOf('=') : content.indexOf(':');
+            keys.add((separator >= 0 ? content.substring(0, separator) : content).trim());
+        }
+        return keys;
+    }
+
+    /**
+     * Routes declared by a Spring controller, as {@code METHOD /path/{id}}
+     */
+    private Set<String> controllerEndpoints(String file) {
+        String source;
+        try {
+            source = Files.readString(projectRoot.resolve(file));
+        } catch (IOException e) {
+            // Deleted file: fall back to every API test
+            return Set.of();
+        }
+        Matcher classMapping = CLASS_MAPPING.matcher(source);
+        String prefix = classMapping.find() ? classMapping.group(1) : "";
+
+        Set<String> endpoints = new TreeSet<>();
+        Matcher methodMapping = METHOD_MAPPING.matcher(source);
+        while (methodMapping.find()) {
+            String path = methodMapping.group(2) != null ? methodMapping.group(2) : "";
+            endpoints.add(methodMapping.group(1).toUpperCase(Locale.ROOT) + " "
+                + EndpointRecordingFilter.template(prefix + path));
+        }
+        return endpoints;
+    }
+
+    private static boolean isUnder(String file, String directory) {
+        return directory != null && !directory.isEmpty() && file.startsWith(directory + "/");
+    }
+
+    private static List<PathMatcher> matchers(List<String> globs) {
+        return globs.stream()
+            .filter(glob -> !glob.isBlank())
+            .map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob.trim()))
+            .toList();
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path path) {
+        return matchers.stream().anyMatch(matcher -> matcher.matches(path));
+    }
+}
@@ -0,0 +1,129 @@
+package com.testing.framework.core.listeners;
+
+import com.testing.framework.core.health.HealthTarget;
+import com.testing.framework.core.health.RequiresTarget;
+import com.testing.framework.ui.utils.BrowserManager;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.*;
+
+/**
+ * Runs UI tests against several browser engines in one JVM.
+ *
+ * With {@code -Dbrowsers=chromium,firefox,webkit} (or a {@code browsers} suite
+ * parameter), the UI tests of every suite (test classes annotated with
+ * {@code @RequiresTarget(HealthTarget.UI)}) move into one suite per browser, with a
+ * {@code browser} parameter and a {@code [browser]} name suffix; all other tests stay in
+ * the original suite and run once. The browser suites run in parallel up to surefire's
+ * {@code suitethreadpoolsize}, so cross-browser coverage takes about as long as the
+ * slowest engine.
+ *
+ * Before each method the suite's browser is bound to the invoking thread for
+ * {@link BrowserManager}, which keeps a pool of launched browsers per engine. Results
+ * get a {@code browser} parameter and tag in Allure.
+ */
+public class BrowserMatrixListener implements IAlterSuiteListener, IInvokedMethodListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserMatrixListener.class);
+
+    public static final String BROWSER_PARAMETER = "browser";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<XmlSuite> expanded = new ArrayList<>();
+        for (XmlSuite suite : suites) {
+            List<String> browsers = browsersFor(suite);
+            Set<String> uiTests = new HashSet<>();
+            for (XmlTest test : suite.getTests()) {
+                if (isUiTest(test)) {
+                    uiTests.add(test.getName());
+                }
+            }
+            if (browsers.isEmpty() || uiTests.isEmpty() || suite.getParameter(BROWSER_PARAMETER) != null) {
+                expanded.add(suite);
+                continue;
+            }
+
+            for (String browser : browsers) {
+                XmlSuite copy = MultiEnvironmentListener.copyOf(suite);
+                copy.setName(suite.getName() + " [" + browser + "]");
+                Map<String, String> parameters = new HashMap<>(copy.getParameters());
+                parameters.put(BROWSER_PARAMETER, browser);
+                copy.setParameters(parameters);
+                copy.setTests(new ArrayList<>(copy.getTests().stream()
+                    .filter(test -> uiTests.contains(test.getName()))
+                    .toList()));
+                expanded.add(copy);
+            }
+            List<XmlTest> remaining = new ArrayList<>(suite.getTests().stream()
+                .filter(test -> !uiTests.contains(test.getName()))
+                .toList());
+            if (!remaining.isEmpty()) {
+                suite.setTests(remaining);
+                expanded.add(suite);
+            }
+            logger.info("UI tests of suite '{}' fanned out across browsers: {}", suite.getName(), browsers);
+        }
+        suites.clear();
+        suites.addAll(expanded);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        String browser = browserOf(testResult);
+        if (browser == null) {
+            return;
+        }
+        BrowserManager.useBrowser(browser);
+        if (method.isTestMethod()) {
+            Allure.parameter(BROWSER_PARAMETER, browser);
+            Allure.label("tag", browser);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (browserOf(testResult) != null) {
+            BrowserManager.clearBrowser();
+        }
+    }
+
+    /**
+     * Matrix browser of the suite a result belongs to, null outside matrix runs
+     */
+    public static String browserOf(ITestResult result) {
+        return result.getTestContext().getCurrentXmlTest().getParameter(BROWSER_PARAMETER);
+    }
+
+    private static boolean isUiTest(XmlTest test) {
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            Class<?> testClass = xmlClass.getSupportClass();
+            RequiresTarget requires = testClass != null ? testClass.getAnnotation(RequiresTarget.class) : null;
+            if (requires != null && Arrays.asList(requires.value()).contains(HealthTarget.UI)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> browsersFor(XmlSuite suite) {
+        String value = System.getProperty("browsers", suite.getParameter("browsers"));
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(browser -> !browser.isEmpty())
+            .distinct()
+            .toList();
+    }
+}
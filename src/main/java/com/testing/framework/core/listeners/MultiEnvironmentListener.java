@@ -0,0 +1,108 @@
+package com.testing.framework.core.listeners;
+
+import com.testing.framework.core.config.ConfigAware;
+import com.testing.framework.core.config.ConfigContext;
+import com.testing.framework.core.config.ConfigManager;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.xml.SuiteXmlParser;
+import org.testng.xml.XmlSuite;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fans suites out across several environments in one JVM.
+ *
+ * With {@code -Denvs=dev,staging,prod} (or an {@code environments} suite parameter),
+ * every suite is cloned once per environment with an {@code env} parameter and an
+ * {@code [env]} name suffix. Before each test or configuration method the matching
+ * {@link ConfigContext} is activated on the invoking thread, so {@code BaseApiClient},
+ * {@code BasePage} and {@code BrowserManager} resolve that environment's configuration.
+ * Clones run in parallel up to surefire's {@code suitethreadpoolsize}.
+ */
+public class MultiEnvironmentListener implements IAlterSuiteListener, IInvokedMethodListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiEnvironmentListener.class);
+
+    public static final String ENV_PARAMETER = "env";
+    public static final String ENVIRONMENT_ATTRIBUTE = "environment";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<XmlSuite> expanded = new ArrayList<>();
+        for (XmlSuite suite : suites) {
+            List<String> environments = environmentsFor(suite);
+            if (environments.isEmpty() || suite.getParameter(ENV_PARAMETER) != null) {
+                expanded.add(suite);
+                continue;
+            }
+            for (String environment : environments) {
+                XmlSuite copy = copyOf(suite);
+                copy.setName(suite.getName() + " [" + environment + "]");
+                Map<String, String> parameters = new HashMap<>(copy.getParameters());
+                parameters.put(ENV_PARAMETER, environment);
+                copy.setParameters(parameters);
+                expanded.add(copy);
+            }
+            logger.info("Suite '{}' fanned out across environments: {}", suite.getName(), environments);
+        }
+        suites.clear();
+        suites.addAll(expanded);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        String environment = testResult.getTestContext().getCurrentXmlTest().getParameter(ENV_PARAMETER);
+        if (environment == null) {
+            return;
+        }
+
+        ConfigContext.activate(environment);
+        testResult.setAttribute(ENVIRONMENT_ATTRIBUTE, environment);
+
+        Object instance = method.getTestMethod().getInstance();
+        if (instance instanceof ConfigAware configAware) {
+            configAware.applyConfig(ConfigManager.getInstance());
+        }
+        if (method.isTestMethod()) {
+            Allure.parameter("environment", environment);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ConfigContext.clear();
+    }
+
+    private static List<String> environmentsFor(XmlSuite suite) {
+        String value = System.getProperty("envs", suite.getParameter("environments"));
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(env -> !env.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    /**
+     * Deep copy through the XML form, so clones never share tests or classes
+     */
+    static XmlSuite copyOf(XmlSuite suite) {
+        byte[] xml = suite.toXml().getBytes(StandardCharsets.UTF_8);
+        String fileName = suite.getFileName() != null ? suite.getFileName() : "testng.xml";
+        return new SuiteXmlParser().parse(fileName, new ByteArrayInputStream(xml), false);
+    }
+}
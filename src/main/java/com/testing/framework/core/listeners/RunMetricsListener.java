@@ -0,0 +1,217 @@
+package com.testing.framework.core.listeners;
+
+import com.testing.framework.api.client.EndpointTimingFilter;
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.metrics.EndpointMetrics;
+import com.testing.framework.core.metrics.MetricsReportWriter;
+import com.testing.framework.core.metrics.RunMetrics;
+import com.testing.framework.core.metrics.ServerMetricsClient;
+import com.testing.framework.core.metrics.TestMetric;
+import io.restassured.RestAssured;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records per-test wall time, setup/teardown time, thread, retries and outcome,
+ * and writes Prometheus and JSON metrics at the end of every suite.
+ *
+ * {@code @BeforeMethod} time is attributed to the next test on the same thread and
+ * {@code @AfterMethod} time to the previous one. Output goes to {@code metrics.dir}.
+ *
+ * With {@code metrics.endpoints.enabled}, RestAssured test requests are also timed per
+ * route, and the server's own route metrics ({@code metrics.server.path} under the API
+ * base URL) are pulled when the first suite of an environment starts and when its
+ * suites finish; the difference is reported next to the client timings, separating
+ * server latency from client-side overhead. Both sides are kept per API base URL, so
+ * each server is compared only with the requests sent to it.
+ */
+public class RunMetricsListener implements ISuiteListener, ITestListener, IInvokedMethodListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunMetricsListener.class);
+
+    // Keyed by API base URL; empty when that server has no metrics
+    private static final Map<String, Optional<EndpointMetrics>> serverBaselines = new ConcurrentHashMap<>();
+    private static boolean endpointTiming;
+
+    private final RunMetrics metrics = RunMetrics.get();
+    private final Map<String, AtomicInteger> retryCounts = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> pendingSetupMs = ThreadLocal.withInitial(() -> 0L);
+    private final Map<Long, PendingMetric> lastTestByThread = new ConcurrentHashMap<>();
+
+    /**
+     * Metric still collecting teardown time from {@code @AfterMethod}
+     */
+    private static final class PendingMetric {
+        private final ITestResult result;
+        private final String outcome;
+        private final int retries;
+        private final long setupMs;
+        private final long threadId;
+        private final String threadName;
+        private volatile long teardownMs;
+
+        private PendingMetric(ITestResult result, String outcome, int retries, long setupMs) {
+            this.result = result;
+            this.outcome = outcome;
+            this.retries = retries;
+            this.setupMs = setupMs;
+            this.threadId = Thread.currentThread().getId();
+            this.threadName = Thread.currentThread().getName();
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        metrics.markRunStart(System.currentTimeMillis());
+        ConfigManager config = configOf(suite);
+        if (!Boolean.parseBoolean(config.getProperty("metrics.endpoints.enabled", "true"))) {
+            return;
+        }
+        synchronized (RunMetricsListener.class) {
+            if (!endpointTiming) {
+                endpointTiming = true;
+                RestAssured.filters(new EndpointTimingFilter(() -> metrics.clientEndpoints(currentApi())));
+            }
+            serverBaselines.computeIfAbsent(config.getApiBaseUrl(), api -> Optional.ofNullable(serverMetrics(config)));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        metrics.markRunEnd(System.currentTimeMillis());
+        String directory = ConfigManager.getInstance().getProperty("metrics.dir", "target/metrics");
+        synchronized (RunMetricsListener.class) {
+            // Later suites of the same API read again; each reading covers the run so far
+            ConfigManager config = configOf(suite);
+            String api = config.getApiBaseUrl();
+            Optional<EndpointMetrics> baseline = serverBaselines.getOrDefault(api, Optional.empty());
+            if (baseline.isPresent()) {
+                EndpointMetrics server = serverMetrics(config);
+                if (server != null) {
+                    metrics.setServerEndpoints(api, server.since(baseline.get()));
+                }
+            }
+            try {
+                MetricsReportWriter.write(metrics, Paths.get(directory));
+                logger.info("Test metrics written to {}", directory);
+            } catch (IOException e) {
+                logger.error("Failed to write test metrics to {}", directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (method.isTestMethod()) {
+            return;
+        }
+        long durationMs = Math.max(0, testResult.getEndMillis() - testResult.getStartMillis());
+        if (testMethod.isBeforeMethodConfiguration()) {
+            pendingSetupMs.set(pendingSetupMs.get() + durationMs);
+        } else if (testMethod.isAfterMethodConfiguration()) {
+            PendingMetric pending = lastTestByThread.get(Thread.currentThread().getId());
+            if (pending != null) {
+                pending.teardownMs += durationMs;
+            }
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        // A new test on this thread means the previous one is complete
+        flush(lastTestByThread.remove(Thread.currentThread().getId()));
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        finish(result, "PASSED");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        finish(result, "FAILED");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        finish(result, "FAILED_WITHIN_PERCENTAGE");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (result.wasRetried()) {
+            retryCounts.computeIfAbsent(TestIds.invocationOf(result), k -> new AtomicInteger()).incrementAndGet();
+            pendingSetupMs.set(0L);
+            return;
+        }
+        finish(result, "SKIPPED");
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        lastTestByThread.keySet().forEach(threadId -> flush(lastTestByThread.remove(threadId)));
+    }
+
+    private static ConfigManager configOf(ISuite suite) {
+        String env = suite.getParameter(MultiEnvironmentListener.ENV_PARAMETER);
+        return env != null ? ConfigManager.forEnvironment(env) : ConfigManager.getInstance();
+    }
+
+    /**
+     * API base URL of the environment the current thread runs, not of a tenant it may be bound to
+     */
+    private static String currentApi() {
+        return ConfigManager.forEnvironment(ConfigManager.getInstance().getEnvironment()).getApiBaseUrl();
+    }
+
+    private static EndpointMetrics serverMetrics(ConfigManager config) {
+        String url = config.getApiBaseUrl() + config.getProperty("metrics.server.path", "/metrics");
+        EndpointMetrics server = new ServerMetricsClient(Duration.ofSeconds(5)).fetch(url).orElse(null);
+        if (server == null) {
+            logger.info("No server metrics at {}; reporting client-side endpoint timings only", url);
+        }
+        return server;
+    }
+
+    private void finish(ITestResult result, String outcome) {
+        AtomicInteger retries = retryCounts.remove(TestIds.invocationOf(result));
+        PendingMetric pending = new PendingMetric(result, outcome,
+            retries == null ? 0 : retries.get(), pendingSetupMs.get());
+        pendingSetupMs.set(0L);
+        flush(lastTestByThread.put(Thread.currentThread().getId(), pending));
+    }
+
+    private void flush(PendingMetric pending) {
+        if (pending == null) {
+            return;
+        }
+
+        ITestResult result = pending.result;
+        Object environment = result.getAttribute(MultiEnvironmentListener.ENVIRONMENT_ATTRIBUTE);
+        metrics.record(new TestMetric(
+            TestIds.of(result),
+            result.getTestClass().getName(),
+            result.getMethod().getMethodName(),
+            List.of(result.getMethod().getGroups()),
+            environment != null ? environment.toString() : ConfigManager.getInstance().getEnvironment(),
+            pending.threadId,
+            pending.threadName,
+            result.getStartMillis(),
+            Math.max(0, result.getEndMillis() - result.getStartMillis()),
+            pending.setupMs,
+            pending.teardownMs,
+            pending.retries,
+            pending.outcome));
+    }
+}
@@ -0,0 +1,50 @@
+package com.testing.framework.core.listeners;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.internal.TestResult;
+
+import java.util.Arrays;
+
+/**
+ * Stable test identifiers ({@code fully.qualified.Class#method}) shared by the
+ * listeners and the history stores
+ */
+public final class TestIds {
+    
+    private TestIds() {
+    }
+    
+    public static String of(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+    
+    public static String of(ITestResult result) {
+        return of(result.getMethod());
+    }
+    
+    /**
+     * Identifier of one invocation: the test id plus its environment and browser
+     * (in multi-environment and browser matrix runs) and data-provider row, so
+     * clones running in parallel never share per-invocation state
+     */
+    public static String invocationOf(ITestResult result) {
+        StringBuilder id = new StringBuilder(of(result));
+        String env = result.getTestContext().getCurrentXmlTest().getParameter(MultiEnvironmentListener.ENV_PARAMETER);
+        if (env != null) {
+            id.append('@').append(env);
+        }
+        String browser = BrowserMatrixListener.browserOf(result);
+        if (browser != null) {
+            id.append('@').append(browser);
+        }
+        return id.append('[').append(parameterIndex(result)).append(']').toString();
+    }
+    
+    // The data-provider row is only exposed by TestNG's own result class
+    private static int parameterIndex(ITestResult result) {
+        return result instanceof TestResult testResult
+            ? testResult.getParameterIndex()
+            : Arrays.deepHashCode(result.getParameters());
+    }
+}
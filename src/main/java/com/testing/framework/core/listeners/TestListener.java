@@ -1,21 +1,67 @@
 package com.testing.framework.core.listeners;
 
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.dag.DagListener;
+import com.testing.framework.core.logging.TestLogContext;
+import com.testing.framework.core.retry.FlakinessClassifier;
+import com.testing.framework.core.retry.FlakinessReport;
+import com.testing.framework.core.retry.FlakyRetryAnalyzer;
+import com.testing.framework.core.retry.RetryBudget;
+import com.testing.framework.core.retry.RetryRegistry;
+import com.testing.framework.core.retry.TestHistoryStore;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
 
 /**
- * Custom TestNG listener for enhanced logging and reporting
+ * Custom TestNG listener for enhanced logging and reporting.
+ *
+ * Also records every outcome in the test history and installs the
+ * {@link FlakyRetryAnalyzer} on tests that declare no retry analyzer of their own, and
+ * turns {@code @Produces}/{@code @Consumes} into dependencies ({@link DagListener}).
+ *
+ * Every test and configuration method runs with its {@link TestLogContext} MDC bound,
+ * so its log lines are tagged and sifted into one file per test; the file is attached
+ * to the Allure report when the test fails.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, IInvokedMethodListener, IAnnotationTransformer {
     
     private static final Logger logger = LoggerFactory.getLogger(TestListener.class);
     
+    private final ThreadLocal<Map<String, String>> outerContext = new ThreadLocal<>();
+    
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        // TestNG keeps only one annotation transformer, so the DAG dependencies are applied here too
+        DagListener.applyDependencies(annotation, testMethod);
+        if (!Boolean.parseBoolean(ConfigManager.getInstance().getProperty("retry.enabled", "true"))) {
+            return;
+        }
+        Class<?> current = annotation.getRetryAnalyzerClass();
+        // TestNG reports its internal DisabledRetryAnalyzer when none is declared
+        if (current == null || current.getSimpleName().equals("DisabledRetryAnalyzer")) {
+            annotation.setRetryAnalyzer(FlakyRetryAnalyzer.class);
+        }
+    }
+    
     @Override
     public void onStart(ITestContext context) {
+        TestLogContext.cleanOnce(testLogDirectory());
         logger.info("=== Starting Test Suite: {} ===", context.getName());
         logger.info("Total tests to run: {}", context.getAllTestMethods().length);
     }
@@ -26,10 +72,22 @@ public class TestListener implements ITestListener {
         logger.info("Tests passed: {}", context.getPassedTests().size());
         logger.info("Tests failed: {}", context.getFailedTests().size());
         logger.info("Tests skipped: {}", context.getSkippedTests().size());
+        
+        ConfigManager config = ConfigManager.getInstance();
+        TestHistoryStore history = historyStore(config);
+        history.save();
+        FlakinessClassifier classifier = new FlakinessClassifier(
+            Integer.parseInt(config.getProperty("retry.flaky.min.runs", "5")),
+            Double.parseDouble(config.getProperty("retry.flaky.threshold", "0.2")));
+        FlakinessReport.write(
+            FlakinessReport.rank(history.getAll(), history.getRetriedRuns(), RetryRegistry.snapshot(), classifier),
+            RetryBudget.spentMs(),
+            Paths.get(config.getProperty("retry.report.dir", "target/flakiness")));
     }
     
     @Override
     public void onTestStart(ITestResult result) {
+        openLogContext(result);
         logger.info("Starting test: {}.{}", 
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
@@ -40,6 +98,11 @@ public class TestListener implements ITestListener {
         logger.info("✓ Test PASSED: {}.{}", 
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
+        if (RetryRegistry.wasRetried(result)) {
+            logger.warn("Test {} passed after retry - marked flaky", TestIds.invocationOf(result));
+        }
+        recordOutcome(result, true);
+        TestLogContext.close();
     }
     
     @Override
@@ -51,6 +114,9 @@ public class TestListener implements ITestListener {
         
         // Attach failure details to Allure report
         saveTextLog(result.getThrowable().toString());
+        attachTestLog(result);
+        recordOutcome(result, false);
+        TestLogContext.close();
     }
     
     @Override
@@ -58,6 +124,8 @@ public class TestListener implements ITestListener {
         logger.warn("⊘ Test SKIPPED: {}.{}", 
             result.getTestClass().getName(), 
             result.getMethod().getMethodName());
+        // A retried attempt is reported as skipped; only the final attempt's outcome is recorded
+        TestLogContext.close();
     }
     
     @Override
@@ -67,6 +135,63 @@ public class TestListener implements ITestListener {
             result.getMethod().getMethodName());
     }
     
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            openLogContext(testResult);
+            return;
+        }
+        // Configuration methods log to their own file; restore the test's context afterwards
+        outerContext.set(MDC.getCopyOfContextMap());
+        openLogContext(testResult);
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            return;
+        }
+        Map<String, String> outer = outerContext.get();
+        outerContext.remove();
+        TestLogContext.close();
+        if (outer != null) {
+            outer.forEach(MDC::put);
+        }
+    }
+    
+    private static void openLogContext(ITestResult result) {
+        TestLogContext.open(TestIds.of(result), result.getMethod().getRealClass().getName(), environmentOf(result));
+    }
+    
+    private void attachTestLog(ITestResult result) {
+        String log = TestLogContext.read(testLogDirectory(), TestIds.of(result), environmentOf(result));
+        if (log != null && !log.isEmpty()) {
+            Allure.addAttachment("Test Log", "text/plain", log, ".log");
+        }
+    }
+    
+    /**
+     * Environment of a result, with the matrix browser appended in browser matrix runs
+     */
+    private static String environmentOf(ITestResult result) {
+        String env = result.getTestContext().getSuite().getParameter(MultiEnvironmentListener.ENV_PARAMETER);
+        String environment = env != null ? env : ConfigManager.getInstance().getEnvironment();
+        String browser = BrowserMatrixListener.browserOf(result);
+        return browser != null ? environment + "-" + browser : environment;
+    }
+    
+    private static Path testLogDirectory() {
+        return Paths.get(ConfigManager.getInstance().getProperty("log.tests.dir", "target/logs/tests"));
+    }
+    
+    private void recordOutcome(ITestResult result, boolean passed) {
+        historyStore(ConfigManager.getInstance()).record(TestIds.of(result), passed, RetryRegistry.wasRetried(result));
+    }
+    
+    private static TestHistoryStore historyStore(ConfigManager config) {
+        return TestHistoryStore.open(Paths.get(config.getProperty("history.dir", ".test-history")));
+    }
+    
     @Attachment(value = "Failure Log", type = "text/plain")
     public String saveTextLog(String message) {
         return message;
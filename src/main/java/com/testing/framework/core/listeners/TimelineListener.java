@@ -0,0 +1,104 @@
+package com.testing.framework.core.listeners;
+
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.timeline.Timeline;
+import com.testing.framework.core.timeline.TimelineAnalysis;
+import com.testing.framework.core.timeline.TimelineEvent;
+import com.testing.framework.core.timeline.TimelineReportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records every test and configuration method with its thread and start/end time,
+ * and writes the thread timeline ({@code timeline.dir}) at the end of every suite.
+ */
+public class TimelineListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineListener.class);
+
+    private final Timeline timeline = Timeline.get();
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!timelineEnabled()) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        timeline.record(new TimelineEvent(
+            TestIds.of(testMethod),
+            method.isTestMethod() ? TimelineEvent.TEST : configurationKind(testMethod),
+            testResult.getTestContext().getSuite().getName(),
+            Thread.currentThread().getName(),
+            testResult.getStartMillis(),
+            testResult.getEndMillis() > 0 ? testResult.getEndMillis() : System.currentTimeMillis(),
+            status(testResult),
+            dependencies(testMethod)));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!timelineEnabled()) {
+            return;
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        String directory = config.getProperty("timeline.dir", "target/timeline");
+        long minGapMs = Long.parseLong(config.getProperty("timeline.idle.gap.ms", "100"));
+        synchronized (TimelineListener.class) {
+            List<TimelineEvent> events = timeline.getEvents();
+            TimelineAnalysis analysis = new TimelineAnalysis(events, minGapMs);
+            try {
+                TimelineReportWriter.write(events, analysis, Paths.get(directory));
+                logger.info("Thread timeline written to {}: utilization {}%, idle {} ms, critical path {} ms of {} ms",
+                    directory, Math.round(analysis.getUtilization() * 100), analysis.getIdleMs(),
+                    analysis.getCriticalPath().lengthMs(), analysis.getWallClockMs());
+            } catch (IOException e) {
+                logger.error("Failed to write thread timeline to {}", directory, e);
+            }
+        }
+    }
+
+    private static String configurationKind(ITestNGMethod method) {
+        if (method.isBeforeSuiteConfiguration()) return "BEFORE_SUITE";
+        if (method.isAfterSuiteConfiguration()) return "AFTER_SUITE";
+        if (method.isBeforeTestConfiguration()) return "BEFORE_TEST";
+        if (method.isAfterTestConfiguration()) return "AFTER_TEST";
+        if (method.isBeforeClassConfiguration()) return "BEFORE_CLASS";
+        if (method.isAfterClassConfiguration()) return "AFTER_CLASS";
+        if (method.isBeforeMethodConfiguration()) return "BEFORE_METHOD";
+        if (method.isAfterMethodConfiguration()) return "AFTER_METHOD";
+        if (method.isBeforeGroupsConfiguration()) return "BEFORE_GROUPS";
+        if (method.isAfterGroupsConfiguration()) return "AFTER_GROUPS";
+        return "CONFIGURATION";
+    }
+
+    private static String status(ITestResult result) {
+        return switch (result.getStatus()) {
+            case ITestResult.SUCCESS -> "SUCCESS";
+            case ITestResult.FAILURE -> "FAILURE";
+            case ITestResult.SKIP -> "SKIP";
+            default -> "UNKNOWN";
+        };
+    }
+
+    /**
+     * {@code dependsOnMethods} as {@code class#method}; TestNG reports them as {@code class.method}
+     */
+    private static List<String> dependencies(ITestNGMethod method) {
+        return Arrays.stream(method.getMethodsDependedUpon())
+            .map(name -> {
+                int dot = name.lastIndexOf('.');
+                return dot < 0 ? name : name.substring(0, dot) + "#" + name.substring(dot + 1);
+            })
+            .toList();
+    }
+
+    private static boolean timelineEnabled() {
+        return Boolean.parseBoolean(ConfigManager.getInstance().getProperty("timeline.enabled", "true"));
+    }
+}
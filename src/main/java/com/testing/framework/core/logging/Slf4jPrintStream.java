@@ -0,0 +1,79 @@
+package com.testing.framework.core.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PrintStream that forwards each printed line to an SLF4J logger.
+ *
+ * RestAssured's logging filters write to a PrintStream (System.out by default), which
+ * is synchronous console I/O on the test thread. Routing them through SLF4J lets the
+ * asynchronous appenders do the I/O and tags every line with the test's MDC.
+ * {@code println(String)} is forwarded as one event, so a multi-line request dump
+ * stays together.
+ */
+public class Slf4jPrintStream extends PrintStream {
+
+    private final Logger logger;
+
+    private Slf4jPrintStream(Logger logger) {
+        super(new LineBuffer(logger), true, StandardCharsets.UTF_8);
+        this.logger = logger;
+    }
+
+    public static PrintStream forLogger(String name) {
+        return new Slf4jPrintStream(LoggerFactory.getLogger(name));
+    }
+
+    @Override
+    public void println(String line) {
+        flush();
+        logger.info("{}", line);
+    }
+
+    @Override
+    public void println(Object value) {
+        println(String.valueOf(value));
+    }
+
+    /**
+     * Fallback for print/write calls: one log event per line
+     */
+    private static final class LineBuffer extends OutputStream {
+
+        private final Logger logger;
+        private final ThreadLocal<ByteArrayOutputStream> buffer = ThreadLocal.withInitial(ByteArrayOutputStream::new);
+
+        private LineBuffer(Logger logger) {
+            this.logger = logger;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                emit();
+            } else {
+                buffer.get().write(b);
+            }
+        }
+
+        @Override
+        public void flush() {
+            emit();
+        }
+
+        private void emit() {
+            ByteArrayOutputStream pending = buffer.get();
+            if (pending.size() > 0) {
+                String line = pending.toString(StandardCharsets.UTF_8);
+                pending.reset();
+                logger.info("{}", line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.testing.framework.core.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.ClassicConstants;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * MDC keys identifying the test a log line belongs to, and access to the per-test
+ * log files written by the sifting appender of {@code logback-test.xml}.
+ *
+ * {@link #LOG_FILE} is the sifting discriminator; it must match the {@code ${testLog}}
+ * file name used there, under {@code log.tests.dir}. Closing a context ends the sifting
+ * session of its file, so the file appender is released instead of staying open until
+ * the run ends.
+ */
+public final class TestLogContext {
+
+    public static final String TEST_ID = "testId";
+    public static final String TEST_CLASS = "testClass";
+    public static final String THREAD = "thread";
+    public static final String ENVIRONMENT = "environment";
+    public static final String LOG_FILE = "testLog";
+
+    /** Name of the asynchronous appender in front of the per-test files, and of the sifting appender */
+    private static final String PER_TEST_APPENDER = "ASYNC_PER_TEST";
+    private static final String SIFTING_APPENDER = "PER_TEST";
+    private static final String FLUSH_FILTER = "TEST_LOG_FLUSH";
+    private static final Marker FLUSH_MARKER = MarkerFactory.getMarker("TEST_LOG_FLUSH");
+    private static final long DRAIN_TIMEOUT_MS = 1000;
+    private static final AtomicBoolean cleaned = new AtomicBoolean();
+
+    private TestLogContext() {
+    }
+
+    /**
+     * Bind the MDC of the current thread to a test (or configuration method)
+     */
+    public static void open(String testId, String testClass, String environment) {
+        MDC.put(TEST_ID, testId);
+        MDC.put(TEST_CLASS, testClass);
+        MDC.put(THREAD, Thread.currentThread().getName());
+        MDC.put(ENVIRONMENT, environment);
+        MDC.put(LOG_FILE, fileName(testId, environment));
+    }
+
+    public static void close() {
+        if (MDC.get(LOG_FILE) != null) {
+            AsyncAppender async = perTestAppender();
+            if (async != null) {
+                async.doAppend(event(async, "End of test log", ClassicConstants.FINALIZE_SESSION_MARKER));
+            }
+        }
+        MDC.remove(TEST_ID);
+        MDC.remove(TEST_CLASS);
+        MDC.remove(THREAD);
+        MDC.remove(ENVIRONMENT);
+        MDC.remove(LOG_FILE);
+    }
+
+    /**
+     * Log file name of a test, without extension
+     */
+    public static String fileName(String testId, String environment) {
+        String name = environment != null ? environment + "_" + testId : testId;
+        return name.replaceAll("[^A-Za-z0-9._#-]", "_");
+    }
+
+    /**
+     * Delete per-test logs of earlier runs, once per JVM
+     */
+    public static void cleanOnce(Path directory) {
+        if (!cleaned.compareAndSet(false, true) || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder())
+                .filter(path -> !path.equals(directory))
+                .forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Stale logs only make the directory noisier
+        }
+    }
+
+    /**
+     * Contents of a test's log file once queued events are written, or null if there is none
+     */
+    public static String read(Path directory, String testId, String environment) {
+        awaitQueuedEvents();
+        Path file = directory.resolve(fileName(testId, environment) + ".log");
+        try {
+            return Files.exists(file) ? Files.readString(file, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Wait (bounded) until events queued so far are written. A marker event is sent
+     * through the asynchronous appender after them; the worker appends in order, so once
+     * the marker reaches the sifting appender's flush filter every earlier event,
+     * including those of a batch still being written, is in its file.
+     */
+    private static void awaitQueuedEvents() {
+        AsyncAppender async = perTestAppender();
+        if (async == null || !installFlushFilter(async)) {
+            return;
+        }
+        CountDownLatch written = new CountDownLatch(1);
+        LoggingEvent marker = event(async, "flush", FLUSH_MARKER);
+        marker.setArgumentArray(new Object[] {written});
+        async.doAppend(marker);
+        try {
+            written.await(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AsyncAppender perTestAppender() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return null;
+        }
+        Appender<?> appender = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).getAppender(PER_TEST_APPENDER);
+        return appender instanceof AsyncAppender async && async.isStarted() ? async : null;
+    }
+
+    private static LoggingEvent event(AsyncAppender async, String message, Marker marker) {
+        LoggerContext context = (LoggerContext) async.getContext();
+        LoggingEvent event = new LoggingEvent(TestLogContext.class.getName(),
+            context.getLogger(TestLogContext.class), Level.INFO, message, null, null);
+        event.addMarker(marker);
+        return event;
+    }
+
+    /**
+     * Add, once, the filter that releases flush waiters and keeps flush markers out of the
+     * files; false when there is no sifting appender to add it to
+     */
+    private static synchronized boolean installFlushFilter(AsyncAppender async) {
+        Appender<ILoggingEvent> sifting = async.getAppender(SIFTING_APPENDER);
+        if (sifting == null) {
+            return false;
+        }
+        if (sifting.getCopyOfAttachedFiltersList().stream().anyMatch(filter -> FLUSH_FILTER.equals(filter.getName()))) {
+            return true;
+        }
+        Filter<ILoggingEvent> flush = new Filter<>() {
+            @Override
+            public FilterReply decide(ILoggingEvent event) {
+                if (!isFlush(event)) {
+                    return FilterReply.NEUTRAL;
+                }
+                ((CountDownLatch) event.getArgumentArray()[0]).countDown();
+                return FilterReply.DENY;
+            }
+        };
+        flush.setName(FLUSH_FILTER);
+        flush.start();
+        sifting.addFilter(flush);
+        return true;
+    }
+
+    private static boolean isFlush(ILoggingEvent event) {
+        return event.getMarkerList() != null && event.getMarkerList().contains(FLUSH_MARKER);
+    }
+}
@@ -0,0 +1,117 @@
+package com.testing.framework.core.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe fixed-bucket histogram of durations in milliseconds.
+ * Bucket bounds are shared by all histograms so shard results can be merged.
+ */
+public class DurationHistogram {
+
+    /** Upper bounds (inclusive) in milliseconds; the last bucket is +Inf */
+    public static final long[] BOUNDS_MS = {
+        10, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 120_000, 300_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMs = new LongAdder();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public void record(long durationMs) {
+        long value = Math.max(0, durationMs);
+        counts.incrementAndGet(bucketFor(value));
+        count.increment();
+        sumMs.add(value);
+        maxMs.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add all observations of another histogram (or of its serialized form)
+     */
+    public void merge(long[] otherCounts, long otherSumMs, long otherMaxMs) {
+        if (otherCounts.length != counts.length()) {
+            throw new IllegalArgumentException("Histogram bucket layout mismatch: "
+                + otherCounts.length + " vs " + counts.length());
+        }
+        long total = 0;
+        for (int i = 0; i < otherCounts.length; i++) {
+            counts.addAndGet(i, otherCounts[i]);
+            total += otherCounts[i];
+        }
+        count.add(total);
+        sumMs.add(otherSumMs);
+        maxMs.accumulateAndGet(otherMaxMs, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumMs() {
+        return sumMs.sum();
+    }
+
+    public long getMaxMs() {
+        return maxMs.get();
+    }
+
+    public long[] getCounts() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Cumulative counts per bucket, as Prometheus expects them
+     */
+    public long[] getCumulativeCounts() {
+        long[] cumulative = getCounts();
+        for (int i = 1; i < cumulative.length; i++) {
+            cumulative[i] += cumulative[i - 1];
+        }
+        return cumulative;
+    }
+
+    /**
+     * Percentile estimate: upper bound of the bucket holding the given rank
+     */
+    public long percentileMs(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long[] cumulative = getCumulativeCounts();
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            if (cumulative[i] >= rank) {
+                return Math.min(BOUNDS_MS[i], getMaxMs());
+            }
+        }
+        return getMaxMs();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("boundsMs", Arrays.stream(BOUNDS_MS).boxed().toList());
+        map.put("counts", Arrays.stream(getCounts()).boxed().toList());
+        map.put("count", getCount());
+        map.put("sumMs", getSumMs());
+        map.put("maxMs", getMaxMs());
+        map.put("p50Ms", percentileMs(50));
+        map.put("p95Ms", percentileMs(95));
+        return map;
+    }
+
+    private static int bucketFor(long valueMs) {
+        int index = Arrays.binarySearch(BOUNDS_MS, valueMs);
+        return index >= 0 ? index : -index - 1;
+    }
+}
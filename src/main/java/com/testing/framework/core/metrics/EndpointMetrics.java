@@ -0,0 +1,212 @@
+package com.testing.framework.core.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Request counts and latency histograms per API route ({@code GET /api/users/{id}}),
+ * either measured by the framework's HTTP client or reported by the server.
+ *
+ * Latencies use microsecond buckets matching the demo API's metrics, so client and
+ * server views of a route can be compared bucket by bucket.
+ */
+public class EndpointMetrics {
+
+    /** Upper bounds (inclusive) in microseconds; the last bucket is +Inf */
+    public static final long[] BOUNDS_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+
+    /**
+     * Totals of one route; not updated after creation unless built by {@link #record}
+     */
+    public static final class Route {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder sumMicros = new LongAdder();
+        private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        /**
+         * Responses with a 4xx or 5xx status
+         */
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getSumMicros() {
+            return sumMicros.sum();
+        }
+
+        public long[] getCounts() {
+            long[] copy = new long[counts.length()];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = counts.get(i);
+            }
+            return copy;
+        }
+
+        /**
+         * Percentile estimate: upper bound of the bucket holding the given rank
+         */
+        public long percentileMicros(double percentile) {
+            long total = getRequests();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long cumulative = 0;
+            for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+                cumulative += counts.get(i);
+                if (cumulative >= rank) {
+                    return BOUNDS_MICROS[i];
+                }
+            }
+            return BOUNDS_MICROS[BOUNDS_MICROS.length - 1];
+        }
+
+        public double meanMs() {
+            long total = getRequests();
+            return total == 0 ? 0 : getSumMicros() / 1000.0 / total;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", getRequests());
+            map.put("errors", getErrors());
+            map.put("meanMs", Math.round(meanMs() * 1000) / 1000.0);
+            map.put("p50Ms", percentileMicros(50) / 1000.0);
+            map.put("p95Ms", percentileMicros(95) / 1000.0);
+            map.put("p99Ms", percentileMicros(99) / 1000.0);
+            map.put("counts", Arrays.stream(getCounts()).boxed().toList());
+            return map;
+        }
+
+        private void add(long requestCount, long errorCount, long micros, long[] bucketCounts) {
+            requests.add(requestCount);
+            errors.add(errorCount);
+            sumMicros.add(micros);
+            for (int i = 0; i < bucketCounts.length; i++) {
+                counts.addAndGet(i, bucketCounts[i]);
+            }
+        }
+    }
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public void record(String route, int status, long micros) {
+        long value = Math.max(0, micros);
+        Route stats = routes.computeIfAbsent(route, k -> new Route());
+        stats.requests.increment();
+        if (status >= 400) {
+            stats.errors.increment();
+        }
+        stats.sumMicros.add(value);
+        stats.counts.incrementAndGet(bucketFor(value));
+    }
+
+    public Map<String, Route> getRoutes() {
+        return new TreeMap<>(routes);
+    }
+
+    public boolean isEmpty() {
+        return routes.isEmpty();
+    }
+
+    /**
+     * Server metrics from the demo API's {@code GET /metrics?format=json}
+     *
+     * @throws IllegalArgumentException when the bucket layout differs from {@link #BOUNDS_MICROS}
+     */
+    public static EndpointMetrics fromServerJson(JsonNode json) {
+        long[] bounds = new long[json.path("boundsMicros").size()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = json.path("boundsMicros").get(i).asLong();
+        }
+        if (!Arrays.equals(bounds, BOUNDS_MICROS)) {
+            throw new IllegalArgumentException("Server latency buckets differ: " + Arrays.toString(bounds));
+        }
+        EndpointMetrics metrics = new EndpointMetrics();
+        for (JsonNode route : json.path("routes")) {
+            long[] counts = new long[BOUNDS_MICROS.length + 1];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = route.path("counts").path(i).asLong();
+            }
+            metrics.routes.computeIfAbsent(route.path("method").asText() + " " + route.path("route").asText(), k -> new Route())
+                .add(route.path("requests").asLong(),
+                    route.path("clientErrors").asLong() + route.path("serverErrors").asLong(),
+                    route.path("sumMicros").asLong(),
+                    counts);
+        }
+        return metrics;
+    }
+
+    /**
+     * What happened between {@code baseline} and this (both cumulative, e.g. from a long-running server)
+     */
+    public EndpointMetrics since(EndpointMetrics baseline) {
+        EndpointMetrics delta = new EndpointMetrics();
+        routes.forEach((name, route) -> {
+            Route before = baseline.routes.get(name);
+            long[] counts = route.getCounts();
+            if (before != null) {
+                long[] beforeCounts = before.getCounts();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] -= beforeCounts[i];
+                }
+            }
+            long requests = route.getRequests() - (before == null ? 0 : before.getRequests());
+            if (requests > 0) {
+                delta.routes.computeIfAbsent(name, k -> new Route()).add(requests,
+                    route.getErrors() - (before == null ? 0 : before.getErrors()),
+                    route.getSumMicros() - (before == null ? 0 : before.getSumMicros()),
+                    counts);
+            }
+        });
+        return delta;
+    }
+
+    /**
+     * Client routes re-keyed onto the matching route patterns of {@code server}, e.g.
+     * {@code GET /api/roles/Admin/users} onto {@code GET /api/roles/{role}/users};
+     * routes the server does not know keep their own name
+     */
+    public EndpointMetrics alignedTo(EndpointMetrics server) {
+        Map<String, Pattern> patterns = new LinkedHashMap<>();
+        // Literal routes first, so /api/users/by-email is not taken for /api/users/{id}
+        server.routes.keySet().stream()
+            .sorted(Comparator.comparing((String name) -> name.chars().filter(c -> c == '{').count()))
+            .forEach(name -> patterns.put(name, Pattern.compile(
+                Arrays.stream(name.split("\\{[^/]+}", -1)).map(Pattern::quote).collect(Collectors.joining("[^/]+")))));
+        EndpointMetrics aligned = new EndpointMetrics();
+        routes.forEach((name, route) -> {
+            String target = patterns.entrySet().stream()
+                .filter(entry -> entry.getValue().matcher(name).matches())
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(name);
+            aligned.routes.computeIfAbsent(target, k -> new Route())
+                .add(route.getRequests(), route.getErrors(), route.getSumMicros(), route.getCounts());
+        });
+        return aligned;
+    }
+
+    private static int bucketFor(long micros) {
+        int index = Arrays.binarySearch(BOUNDS_MICROS, micros);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,210 @@
+package com.testing.framework.core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Writes {@link RunMetrics} as a Prometheus text-format file and a JSON summary,
+ * including client- and server-side latencies per API route
+ */
+public class MetricsReportWriter {
+
+    public static final String PROMETHEUS_FILE = "test-metrics.prom";
+    public static final String JSON_FILE = "test-metrics.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private MetricsReportWriter() {
+    }
+
+    public static void write(RunMetrics metrics, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(PROMETHEUS_FILE), toPrometheus(metrics), StandardCharsets.UTF_8);
+        MAPPER.writeValue(directory.resolve(JSON_FILE).toFile(), toJsonSummary(metrics));
+    }
+
+    public static Map<String, Object> toJsonSummary(RunMetrics metrics) {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("outcomes", metrics.getOutcomes());
+        totals.put("retries", metrics.getRetries());
+        totals.put("setupMs", metrics.getSetupMs());
+        totals.put("teardownMs", metrics.getTeardownMs());
+
+        Map<String, Object> byClass = new LinkedHashMap<>();
+        metrics.getByClass().forEach((name, histogram) -> byClass.put(name, histogram.toMap()));
+        Map<String, Object> byGroup = new LinkedHashMap<>();
+        metrics.getByGroup().forEach((name, histogram) -> byGroup.put(name, histogram.toMap()));
+
+        Map<String, Object> histograms = new LinkedHashMap<>();
+        histograms.put("overall", metrics.getOverall().toMap());
+        histograms.put("byClass", byClass);
+        histograms.put("byGroup", byGroup);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("generatedAt", Instant.now().toString());
+        summary.put("wallClockMs", metrics.getWallClockMs());
+        summary.put("totals", totals);
+        summary.put("histograms", histograms);
+        summary.put("endpoints", endpointSummary(metrics));
+        summary.put("tests", metrics.getTests());
+        return summary;
+    }
+
+    /**
+     * Client and server view of each route, per API; {@code clientOverheadMs} is the
+     * mean time spent outside the server (network, client filters, serialization)
+     */
+    static Map<String, Object> endpointSummary(RunMetrics metrics) {
+        Map<String, Object> apis = new TreeMap<>();
+        for (String api : apis(metrics)) {
+            apis.put(api, endpointSummary(metrics, api));
+        }
+        return apis;
+    }
+
+    private static Map<String, Object> endpointSummary(RunMetrics metrics, String api) {
+        EndpointMetrics server = metrics.getServerEndpoints().get(api);
+        Map<String, EndpointMetrics.Route> clientRoutes = clientRoutes(metrics, api);
+        Map<String, EndpointMetrics.Route> serverRoutes = server != null ? server.getRoutes() : Map.of();
+
+        Map<String, Object> endpoints = new TreeMap<>();
+        Set<String> routes = new TreeSet<>(clientRoutes.keySet());
+        routes.addAll(serverRoutes.keySet());
+        for (String route : routes) {
+            EndpointMetrics.Route client = clientRoutes.get(route);
+            EndpointMetrics.Route serverRoute = serverRoutes.get(route);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("client", client != null ? client.toMap() : null);
+            entry.put("server", serverRoute != null ? serverRoute.toMap() : null);
+            if (client != null && serverRoute != null) {
+                entry.put("clientOverheadMs", Math.round((client.meanMs() - serverRoute.meanMs()) * 1000) / 1000.0);
+            }
+            endpoints.put(route, entry);
+        }
+        return endpoints;
+    }
+
+    private static Set<String> apis(RunMetrics metrics) {
+        Set<String> apis = new TreeSet<>(metrics.getClientEndpoints().keySet());
+        apis.addAll(metrics.getServerEndpoints().keySet());
+        return apis;
+    }
+
+    /**
+     * Client routes of an API keyed like its server's, when the server reported any
+     */
+    private static Map<String, EndpointMetrics.Route> clientRoutes(RunMetrics metrics, String api) {
+        EndpointMetrics client = metrics.getClientEndpoints().get(api);
+        EndpointMetrics server = metrics.getServerEndpoints().get(api);
+        if (client == null) {
+            return Map.of();
+        }
+        return server != null ? client.alignedTo(server).getRoutes() : client.getRoutes();
+    }
+
+    public static String toPrometheus(RunMetrics metrics) {
+        StringBuilder out = new StringBuilder();
+
+        out.append("# HELP test_run_wall_seconds Wall-clock time of the test run\n");
+        out.append("# TYPE test_run_wall_seconds gauge\n");
+        out.append("test_run_wall_seconds ").append(seconds(metrics.getWallClockMs())).append('\n');
+
+        out.append("# HELP test_results_total Test results by outcome\n");
+        out.append("# TYPE test_results_total counter\n");
+        metrics.getOutcomes().forEach((outcome, count) -> out.append("test_results_total{outcome=\"")
+            .append(escape(outcome.toLowerCase(Locale.ROOT))).append("\"} ").append(count).append('\n'));
+
+        out.append("# HELP test_retries_total Retried test attempts\n");
+        out.append("# TYPE test_retries_total counter\n");
+        out.append("test_retries_total ").append(metrics.getRetries()).append('\n');
+
+        out.append("# HELP test_setup_seconds_total Time spent in @BeforeMethod configuration\n");
+        out.append("# TYPE test_setup_seconds_total counter\n");
+        out.append("test_setup_seconds_total ").append(seconds(metrics.getSetupMs())).append('\n');
+
+        out.append("# HELP test_teardown_seconds_total Time spent in @AfterMethod configuration\n");
+        out.append("# TYPE test_teardown_seconds_total counter\n");
+        out.append("test_teardown_seconds_total ").append(seconds(metrics.getTeardownMs())).append('\n');
+
+        out.append("# HELP test_duration_seconds Test wall time\n");
+        out.append("# TYPE test_duration_seconds histogram\n");
+        appendHistogram(out, "test_duration_seconds", "", metrics.getOverall());
+
+        out.append("# HELP test_class_duration_seconds Test wall time per test class\n");
+        out.append("# TYPE test_class_duration_seconds histogram\n");
+        metrics.getByClass().forEach((name, histogram) ->
+            appendHistogram(out, "test_class_duration_seconds", "class=\"" + escape(name) + "\"", histogram));
+
+        out.append("# HELP test_group_duration_seconds Test wall time per TestNG group\n");
+        out.append("# TYPE test_group_duration_seconds histogram\n");
+        metrics.getByGroup().forEach((name, histogram) ->
+            appendHistogram(out, "test_group_duration_seconds", "group=\"" + escape(name) + "\"", histogram));
+
+        out.append("# HELP api_request_duration_seconds API latency per route, measured by the test client or the server\n");
+        out.append("# TYPE api_request_duration_seconds histogram\n");
+        for (String api : apis(metrics)) {
+            String apiLabel = "api=\"" + escape(api) + "\",";
+            clientRoutes(metrics, api).forEach((route, stats) ->
+                appendEndpointHistogram(out, apiLabel + "route=\"" + escape(route) + "\",side=\"client\"", stats));
+            EndpointMetrics server = metrics.getServerEndpoints().get(api);
+            if (server != null) {
+                server.getRoutes().forEach((route, stats) ->
+                    appendEndpointHistogram(out, apiLabel + "route=\"" + escape(route) + "\",side=\"server\"", stats));
+            }
+        }
+
+        return out.toString();
+    }
+
+    private static void appendEndpointHistogram(StringBuilder out, String labels, EndpointMetrics.Route route) {
+        String name = "api_request_duration_seconds";
+        long[] counts = route.getCounts();
+        long cumulative = 0;
+        for (int i = 0; i < EndpointMetrics.BOUNDS_MICROS.length; i++) {
+            cumulative += counts[i];
+            out.append(name).append("_bucket{").append(labels).append(",le=\"")
+                .append(String.format(Locale.ROOT, "%.6f", EndpointMetrics.BOUNDS_MICROS[i] / 1_000_000.0))
+                .append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += counts[counts.length - 1];
+        out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum{").append(labels).append("} ")
+            .append(String.format(Locale.ROOT, "%.6f", route.getSumMicros() / 1_000_000.0)).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(cumulative).append('\n');
+    }
+
+    private static void appendHistogram(StringBuilder out, String name, String labels, DurationHistogram histogram) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long[] cumulative = histogram.getCumulativeCounts();
+        for (int i = 0; i < DurationHistogram.BOUNDS_MS.length; i++) {
+            out.append(name).append("_bucket{").append(prefix)
+                .append("le=\"").append(seconds(DurationHistogram.BOUNDS_MS[i])).append("\"} ")
+                .append(cumulative[i]).append('\n');
+        }
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ")
+            .append(cumulative[cumulative.length - 1]).append('\n');
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(suffix).append(' ').append(seconds(histogram.getSumMs())).append('\n');
+        out.append(name).append("_count").append(suffix).append(' ').append(histogram.getCount()).append('\n');
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,132 @@
+package com.testing.framework.core.metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-wide registry of test metrics: per-test records plus duration histograms
+ * overall, per class and per group, and API latencies per route as seen by the
+ * framework's client and, when available, by the server. API latencies are kept per
+ * API (the {@code api.base.url} of the environment), so environments running in
+ * parallel are each compared with their own server.
+ */
+public class RunMetrics {
+
+    private static final RunMetrics INSTANCE = new RunMetrics();
+
+    private final Queue<TestMetric> tests = new ConcurrentLinkedQueue<>();
+    private final DurationHistogram overall = new DurationHistogram();
+    private final Map<String, DurationHistogram> byClass = new ConcurrentHashMap<>();
+    private final Map<String, DurationHistogram> byGroup = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder setupMs = new LongAdder();
+    private final LongAdder teardownMs = new LongAdder();
+    private final AtomicLong runStartMillis = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong runEndMillis = new AtomicLong();
+    private final Map<String, EndpointMetrics> clientEndpoints = new ConcurrentHashMap<>();
+    private final Map<String, EndpointMetrics> serverEndpoints = new ConcurrentHashMap<>();
+
+    private RunMetrics() {
+    }
+
+    /**
+     * Registry of the current run
+     */
+    public static RunMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Standalone registry, e.g. for merging shard results
+     */
+    public static RunMetrics create() {
+        return new RunMetrics();
+    }
+
+    public void record(TestMetric metric) {
+        tests.add(metric);
+        overall.record(metric.wallMs());
+        byClass.computeIfAbsent(metric.className(), k -> new DurationHistogram()).record(metric.wallMs());
+        for (String group : metric.groups()) {
+            byGroup.computeIfAbsent(group, k -> new DurationHistogram()).record(metric.wallMs());
+        }
+        outcomes.computeIfAbsent(metric.outcome(), k -> new LongAdder()).increment();
+        retries.add(metric.retries());
+        setupMs.add(metric.setupMs());
+        teardownMs.add(metric.teardownMs());
+    }
+
+    public void markRunStart(long millis) {
+        runStartMillis.accumulateAndGet(millis, Math::min);
+    }
+
+    public void markRunEnd(long millis) {
+        runEndMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    public List<TestMetric> getTests() {
+        return List.copyOf(tests);
+    }
+
+    public DurationHistogram getOverall() {
+        return overall;
+    }
+
+    public Map<String, DurationHistogram> getByClass() {
+        return new TreeMap<>(byClass);
+    }
+
+    public Map<String, DurationHistogram> getByGroup() {
+        return new TreeMap<>(byGroup);
+    }
+
+    public Map<String, Long> getOutcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, adder) -> counts.put(outcome, adder.sum()));
+        return counts;
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getSetupMs() {
+        return setupMs.sum();
+    }
+
+    public long getTeardownMs() {
+        return teardownMs.sum();
+    }
+
+    /**
+     * Client-side route timings of one API, created on first use
+     */
+    public EndpointMetrics clientEndpoints(String api) {
+        return clientEndpoints.computeIfAbsent(api, k -> new EndpointMetrics());
+    }
+
+    public Map<String, EndpointMetrics> getClientEndpoints() {
+        return new TreeMap<>(clientEndpoints);
+    }
+
+    /**
+     * Server-side route metrics for this run per API; APIs without server metrics are absent
+     */
+    public Map<String, EndpointMetrics> getServerEndpoints() {
+        return new TreeMap<>(serverEndpoints);
+    }
+
+    public void setServerEndpoints(String api, EndpointMetrics endpoints) {
+        serverEndpoints.put(api, endpoints);
+    }
+
+    public long getWallClockMs() {
+        long start = runStartMillis.get();
+        long end = runEndMillis.get();
+        return start == Long.MAX_VALUE || end < start ? 0 : end - start;
+    }
+}
@@ -0,0 +1,50 @@
+package com.testing.framework.core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Pulls the server-side route metrics of the API under test ({@code GET <api>/metrics?format=json})
+ */
+public class ServerMetricsClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final Duration timeout;
+
+    public ServerMetricsClient(Duration timeout) {
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Current cumulative metrics, or empty when the server does not expose them
+     */
+    public Optional<EndpointMetrics> fetch(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "?format=json"))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Optional.empty();
+            }
+            return Optional.of(EndpointMetrics.fromServerJson(MAPPER.readTree(response.body())));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+}
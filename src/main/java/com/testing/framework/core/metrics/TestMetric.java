@@ -0,0 +1,22 @@
+package com.testing.framework.core.metrics;
+
+import java.util.List;
+
+/**
+ * Timing and outcome of a single test invocation
+ */
+public record TestMetric(
+    String testId,
+    String className,
+    String methodName,
+    List<String> groups,
+    String environment,
+    long threadId,
+    String threadName,
+    long startMillis,
+    long wallMs,
+    long setupMs,
+    long teardownMs,
+    int retries,
+    String outcome) {
+}
@@ -0,0 +1,46 @@
+package com.testing.framework.core.retry;
+
+/**
+ * Classifies tests as flaky from their pass/fail history.
+ *
+ * The flip rate is the share of consecutive runs whose outcome changed. A test that
+ * always fails has a flip rate of 0 and is never retried - retrying a real failure
+ * only wastes CI minutes.
+ */
+public class FlakinessClassifier {
+
+    private final int minRuns;
+    private final double flipThreshold;
+
+    public FlakinessClassifier(int minRuns, double flipThreshold) {
+        this.minRuns = minRuns;
+        this.flipThreshold = flipThreshold;
+    }
+
+    public static double flipRate(String history) {
+        if (history.length() < 2) {
+            return 0;
+        }
+        int flips = 0;
+        for (int i = 1; i < history.length(); i++) {
+            if (history.charAt(i) != history.charAt(i - 1)) {
+                flips++;
+            }
+        }
+        return (double) flips / (history.length() - 1);
+    }
+
+    public static double failureRate(String history) {
+        if (history.isEmpty()) {
+            return 0;
+        }
+        return (double) history.chars().filter(c -> c == 'F').count() / history.length();
+    }
+
+    public boolean isFlaky(String history) {
+        return history.length() >= minRuns
+            && history.indexOf('P') >= 0
+            && history.indexOf('F') >= 0
+            && flipRate(history) >= flipThreshold;
+    }
+}
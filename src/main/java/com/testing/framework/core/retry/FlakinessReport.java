@@ -0,0 +1,83 @@
+package com.testing.framework.core.retry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks tests by flakiness and writes {@code flakiness-report.json} and a plain-text table
+ */
+public class FlakinessReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlakinessReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static final String JSON_FILE = "flakiness-report.json";
+    public static final String TEXT_FILE = "flakiness-report.txt";
+
+    /**
+     * One ranked test; {@code retriesThisRun} is 0 when the test was not retried,
+     * {@code retriedRuns} counts the recorded runs that needed a retry
+     */
+    public record Entry(String testId, int runs, double flipRate, double failureRate,
+                        boolean flaky, int retriesThisRun, int retriedRuns, String history) {
+    }
+
+    public static List<Entry> rank(Map<String, String> histories, Map<String, Integer> retriedRuns,
+                                   Map<String, Integer> retries, FlakinessClassifier classifier) {
+        List<Entry> entries = new ArrayList<>();
+        histories.forEach((testId, history) -> {
+            double flipRate = FlakinessClassifier.flipRate(history);
+            double failureRate = FlakinessClassifier.failureRate(history);
+            int retried = retriedRuns.getOrDefault(testId, 0);
+            if (flipRate > 0 || failureRate > 0 || retried > 0) {
+                entries.add(new Entry(testId, history.length(), flipRate, failureRate,
+                    classifier.isFlaky(history), retries.getOrDefault(testId, 0), retried, history));
+            }
+        });
+        entries.sort(Comparator.comparingDouble(Entry::flipRate).reversed()
+            .thenComparing(Comparator.comparingDouble(Entry::failureRate).reversed())
+            .thenComparing(Entry::testId));
+        return entries;
+    }
+
+    public static void write(List<Entry> entries, long retryTimeMs, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("retryTimeMs", retryTimeMs);
+            json.put("flakyTests", entries.stream().filter(Entry::flaky).count());
+            json.put("tests", entries);
+            MAPPER.writeValue(directory.resolve(JSON_FILE).toFile(), json);
+            Files.writeString(directory.resolve(TEXT_FILE), toText(entries, retryTimeMs));
+            logger.info("Flakiness report written to {} ({} unstable tests)", directory, entries.size());
+        } catch (IOException e) {
+            logger.warn("Failed to write flakiness report to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    static String toText(List<Entry> entries, long retryTimeMs) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Retry time this run: %d ms%n%n", retryTimeMs));
+        out.append(String.format("%-4s %-6s %-6s %-5s %-7s %-12s %-30s %s%n",
+            "#", "flip", "fail", "runs", "retried", "retried-runs", "history", "test"));
+        int rank = 1;
+        for (Entry entry : entries) {
+            out.append(String.format("%-4d %-6.2f %-6.2f %-5d %-7s %-12d %-30s %s%s%n",
+                rank++, entry.flipRate(), entry.failureRate(), entry.runs(),
+                entry.retriesThisRun() > 0 ? String.valueOf(entry.retriesThisRun()) : "-",
+                entry.retriedRuns(), entry.history(), entry.testId(), entry.flaky() ? "  [flaky]" : ""));
+        }
+        return out.toString();
+    }
+}
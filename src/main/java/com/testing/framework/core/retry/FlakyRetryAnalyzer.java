@@ -0,0 +1,66 @@
+package com.testing.framework.core.retry;
+
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.listeners.TestIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.nio.file.Paths;
+
+/**
+ * Retries a failed test only when its history shows it is flaky.
+ *
+ * A test is flaky when it has at least {@code retry.flaky.min.runs} recorded outcomes,
+ * both passes and failures among them, and a flip rate of at least
+ * {@code retry.flaky.threshold}. Tests that fail consistently or have no history fail
+ * immediately. Retries stop after {@code retry.max.attempts} per test or once the
+ * run-wide {@code retry.budget.ms} is used up.
+ *
+ * TestNG creates one analyzer per test method (and parameter set), so the attempt
+ * counter is per instance.
+ */
+public class FlakyRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlakyRetryAnalyzer.class);
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        ConfigManager config = ConfigManager.getInstance();
+        int maxAttempts = Integer.parseInt(config.getProperty("retry.max.attempts", "2"));
+        if (attempts >= maxAttempts) {
+            return false;
+        }
+
+        String testId = TestIds.of(result);
+        String history = historyStore(config).history(testId);
+        FlakinessClassifier classifier = new FlakinessClassifier(
+            Integer.parseInt(config.getProperty("retry.flaky.min.runs", "5")),
+            Double.parseDouble(config.getProperty("retry.flaky.threshold", "0.2")));
+        if (!classifier.isFlaky(history)) {
+            logger.debug("Not retrying {}: history '{}' does not look flaky", testId, history);
+            return false;
+        }
+
+        long durationMs = result.getEndMillis() - result.getStartMillis();
+        long budgetMs = Long.parseLong(config.getProperty("retry.budget.ms", "120000"));
+        if (!RetryBudget.tryCharge(durationMs, budgetMs)) {
+            logger.warn("Not retrying {}: retry budget of {} ms exhausted ({} ms spent)",
+                testId, budgetMs, RetryBudget.spentMs());
+            return false;
+        }
+
+        attempts++;
+        RetryRegistry.recordRetry(result);
+        logger.warn("Retrying flaky test {} (attempt {}/{}, flip rate {}, history '{}')",
+            testId, attempts, maxAttempts, String.format("%.2f", FlakinessClassifier.flipRate(history)), history);
+        return true;
+    }
+
+    private static TestHistoryStore historyStore(ConfigManager config) {
+        return TestHistoryStore.open(Paths.get(config.getProperty("history.dir", ".test-history")));
+    }
+}
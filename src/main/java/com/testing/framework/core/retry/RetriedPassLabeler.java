@@ -0,0 +1,33 @@
+package com.testing.framework.core.retry;
+
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Marks tests that passed only after a retry as flaky in the Allure report.
+ *
+ * Registered through {@code META-INF/services}; Allure's TestNG adapter names results
+ * {@code class.method}, which maps back to the {@code class#method} IDs of the retry registry.
+ */
+public class RetriedPassLabeler implements TestLifecycleListener {
+
+    public static final String RETRIED_PASS_TAG = "retried-pass";
+
+    @Override
+    public void beforeTestStop(TestResult result) {
+        if (result.getStatus() != Status.PASSED || result.getFullName() == null) {
+            return;
+        }
+        String fullName = result.getFullName();
+        int dot = fullName.lastIndexOf('.');
+        if (dot < 0 || !RetryRegistry.wasRetried(fullName.substring(0, dot) + "#" + fullName.substring(dot + 1))) {
+            return;
+        }
+        StatusDetails details = result.getStatusDetails() != null ? result.getStatusDetails() : new StatusDetails();
+        result.setStatusDetails(details.setFlaky(true));
+        result.getLabels().add(new Label().setName("tag").setValue(RETRIED_PASS_TAG));
+    }
+}
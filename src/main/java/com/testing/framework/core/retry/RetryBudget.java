@@ -0,0 +1,38 @@
+package com.testing.framework.core.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run-wide cap on the time spent re-running failed tests.
+ *
+ * Each retry is charged the duration of the attempt that failed, which is the best
+ * available estimate of what the retry will cost. Once the cap is reached, failures
+ * are reported as they are.
+ */
+public final class RetryBudget {
+
+    private static final AtomicLong spentMs = new AtomicLong();
+
+    private RetryBudget() {
+    }
+
+    /**
+     * Reserve {@code costMs} of the budget; false (and nothing reserved) if it would exceed {@code capMs}
+     */
+    public static boolean tryCharge(long costMs, long capMs) {
+        long cost = Math.max(costMs, 0);
+        while (true) {
+            long spent = spentMs.get();
+            if (spent + cost > capMs) {
+                return false;
+            }
+            if (spentMs.compareAndSet(spent, spent + cost)) {
+                return true;
+            }
+        }
+    }
+
+    public static long spentMs() {
+        return spentMs.get();
+    }
+}
@@ -0,0 +1,53 @@
+package com.testing.framework.core.retry;
+
+import com.testing.framework.core.listeners.TestIds;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests retried during the current run, with the number of retries granted per test,
+ * and the individual invocations (environment, browser, data-provider row) retried
+ */
+public final class RetryRegistry {
+
+    private static final Map<String, AtomicInteger> retries = new ConcurrentHashMap<>();
+    private static final Set<String> retriedInvocations = ConcurrentHashMap.newKeySet();
+
+    private RetryRegistry() {
+    }
+
+    static void recordRetry(ITestResult result) {
+        retries.computeIfAbsent(TestIds.of(result), k -> new AtomicInteger()).incrementAndGet();
+        retriedInvocations.add(TestIds.invocationOf(result));
+    }
+
+    /**
+     * Whether this invocation of a test was retried; other environments' or rows' clones
+     * of the same test do not count
+     */
+    public static boolean wasRetried(ITestResult result) {
+        return retriedInvocations.contains(TestIds.invocationOf(result));
+    }
+
+    /**
+     * Whether any invocation of the test was retried in this run
+     */
+    public static boolean wasRetried(String testId) {
+        return retries.containsKey(testId);
+    }
+
+    public static Set<String> retriedTests() {
+        return Set.copyOf(retries.keySet());
+    }
+
+    public static Map<String, Integer> snapshot() {
+        Map<String, Integer> counts = new TreeMap<>();
+        retries.forEach((id, count) -> counts.put(id, count.get()));
+        return counts;
+    }
+}
@@ -0,0 +1,112 @@
+package com.testing.framework.core.retry;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persisted pass/fail history per test ({@code outcomes.json} in the history directory).
+ *
+ * Each test keeps its most recent outcomes as a string of {@code P}/{@code F}, oldest
+ * first, which is enough to tell stable failures from tests that flip. Only the final
+ * outcome of an invocation is recorded, not its retried attempts; how many recorded runs
+ * needed a retry is kept separately ({@code retried.json}), so retries never feed the
+ * flip rate that decides whether a test is retried.
+ */
+public class TestHistoryStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestHistoryStore.class);
+    private static final Map<Path, TestHistoryStore> OPEN_STORES = new ConcurrentHashMap<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static final String FILE_NAME = "outcomes.json";
+    public static final String RETRIED_FILE_NAME = "retried.json";
+    private static final int WINDOW = 30;
+
+    private final Path file;
+    private final Path retriedFile;
+    private final Map<String, String> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> retriedRuns = new ConcurrentHashMap<>();
+
+    private TestHistoryStore(Path file) {
+        this.file = file;
+        this.retriedFile = file.resolveSibling(RETRIED_FILE_NAME);
+        load();
+    }
+
+    public static TestHistoryStore open(Path historyDirectory) {
+        return OPEN_STORES.computeIfAbsent(
+            historyDirectory.toAbsolutePath().normalize().resolve(FILE_NAME), TestHistoryStore::new);
+    }
+
+    /**
+     * Final outcome of one invocation; {@code retried} when it took more than one attempt
+     */
+    public void record(String testId, boolean passed, boolean retried) {
+        if (retried) {
+            retriedRuns.merge(testId, 1, Integer::sum);
+        }
+        outcomes.merge(testId, passed ? "P" : "F", (history, latest) -> {
+            String updated = history + latest;
+            return updated.length() > WINDOW ? updated.substring(updated.length() - WINDOW) : updated;
+        });
+    }
+
+    /**
+     * Recorded outcomes for a test, oldest first ({@code "PPFP"}), empty when unknown
+     */
+    public String history(String testId) {
+        return outcomes.getOrDefault(testId, "");
+    }
+
+    public Map<String, String> getAll() {
+        return new TreeMap<>(outcomes);
+    }
+
+    /**
+     * Number of recorded runs of each test that needed a retry
+     */
+    public Map<String, Integer> getRetriedRuns() {
+        return new TreeMap<>(retriedRuns);
+    }
+
+    public synchronized void save() {
+        try {
+            write(file, outcomes);
+            write(retriedFile, retriedRuns);
+        } catch (IOException e) {
+            logger.warn("Failed to save test outcome history to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void write(Path target, Map<String, ?> values) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), new TreeMap<>(values));
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() {
+        try {
+            if (Files.exists(file)) {
+                outcomes.putAll(MAPPER.readValue(file.toFile(), new TypeReference<Map<String, String>>() {}));
+                logger.info("Loaded outcome history for {} tests from {}", outcomes.size(), file);
+            }
+            if (Files.exists(retriedFile)) {
+                retriedRuns.putAll(MAPPER.readValue(retriedFile.toFile(), new TypeReference<Map<String, Integer>>() {}));
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable outcome history {}: {}", file, e.getMessage());
+        }
+    }
+}
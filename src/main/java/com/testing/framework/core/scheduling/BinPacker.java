@@ -0,0 +1,75 @@
+package com.testing.framework.core.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Longest-processing-time-first bin packing: items are taken longest first and
+ * each goes to the currently least-loaded bin. Deterministic for equal weights.
+ */
+public final class BinPacker {
+    
+    private BinPacker() {
+    }
+    
+    /**
+     * Packed bins with their total weights
+     */
+    public record Plan<T>(List<List<T>> bins, long[] loads) {
+        
+        public long makespan() {
+            long max = 0;
+            for (long load : loads) {
+                max = Math.max(max, load);
+            }
+            return max;
+        }
+    }
+    
+    public static <T> Plan<T> pack(List<T> items, ToLongFunction<T> weight, int binCount) {
+        int bins = Math.max(1, binCount);
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(weight).reversed());
+        
+        List<List<T>> assigned = new ArrayList<>();
+        long[] loads = new long[bins];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+            Comparator.<Integer>comparingLong(i -> loads[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < bins; i++) {
+            assigned.add(new ArrayList<>());
+            leastLoaded.add(i);
+        }
+        
+        for (T item : sorted) {
+            int bin = leastLoaded.poll();
+            assigned.get(bin).add(item);
+            loads[bin] += weight.applyAsLong(item);
+            leastLoaded.add(bin);
+        }
+        return new Plan<>(assigned, loads);
+    }
+    
+    /**
+     * Makespan of a greedy pool taking items in the given order
+     */
+    public static <T> long simulateMakespan(List<T> ordered, ToLongFunction<T> weight, int workers) {
+        long[] loads = new long[Math.max(1, workers)];
+        for (T item : ordered) {
+            int idle = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[idle]) {
+                    idle = i;
+                }
+            }
+            loads[idle] += weight.applyAsLong(item);
+        }
+        long max = 0;
+        for (long load : loads) {
+            max = Math.max(max, load);
+        }
+        return max;
+    }
+}
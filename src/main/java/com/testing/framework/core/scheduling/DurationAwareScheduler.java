@@ -0,0 +1,86 @@
+package com.testing.framework.core.scheduling;
+
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.listeners.TestIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orders tests longest-first using durations from earlier runs.
+ *
+ * With {@code parallel="methods"} the TestNG pool hands out methods in the order this
+ * interceptor returns, so longest-first ordering is the LPT schedule: long tests start
+ * early and short ones fill the gaps at the end. Explicit priorities stay the primary
+ * sort key and {@code dependsOnMethods} is still enforced by TestNG. Tests with no
+ * history get the median of known durations.
+ *
+ * Durations of every finished test are folded back into the store at suite end.
+ */
+public class DurationAwareScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationAwareScheduler.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!Boolean.parseBoolean(config.getProperty("scheduling.duration.aware", "true")) || methods.size() < 2) {
+            return methods;
+        }
+
+        DurationStore store = store();
+        long fallbackMs = Long.parseLong(config.getProperty("scheduling.default.duration.ms", "1000"));
+        int workers = context.getSuite().getXmlSuite().getThreadCount();
+
+        // Estimated once per method, not on every comparison
+        Map<IMethodInstance, Long> estimates = new IdentityHashMap<>();
+        for (IMethodInstance method : methods) {
+            estimates.put(method, store.estimateOrDefault(TestIds.of(method.getMethod()), fallbackMs));
+        }
+        ToLongFunction<IMethodInstance> estimate = estimates::get;
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+            .comparingInt((IMethodInstance m) -> m.getMethod().getPriority())
+            .thenComparing(Comparator.comparingLong(estimate).reversed()));
+
+        if (logger.isInfoEnabled()) {
+            long before = BinPacker.simulateMakespan(methods, estimate, workers);
+            long after = BinPacker.simulateMakespan(ordered, estimate, workers);
+            logger.info("Duration-aware order for '{}': {} tests on {} threads, predicted makespan {} ms (declaration order {} ms)",
+                context.getName(), ordered.size(), workers, after, before);
+        }
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        store().save();
+    }
+
+    private void recordDuration(ITestResult result) {
+        store().record(TestIds.of(result), result.getEndMillis() - result.getStartMillis());
+    }
+
+    static DurationStore store() {
+        return DurationStore.open(Paths.get(ConfigManager.getInstance().getProperty("history.dir", ".test-history")));
+    }
+}
@@ -0,0 +1,147 @@
+package com.testing.framework.core.scheduling;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small local store of per-test durations from earlier runs.
+ *
+ * Each test keeps an exponentially weighted moving average, so one slow run nudges
+ * the estimate instead of replacing it. Stored as JSON ({@code durations.json}).
+ */
+public class DurationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationStore.class);
+    private static final Map<Path, DurationStore> OPEN_STORES = new ConcurrentHashMap<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static final String FILE_NAME = "durations.json";
+
+    /** Weight of the newest sample in the moving average */
+    private static final double ALPHA = 0.3;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Median of the known averages, null once a change made it stale
+    private volatile Long median;
+
+    /**
+     * Duration history of one test
+     */
+    public record Entry(long averageMs, long lastMs, int samples, long updatedAt) {
+
+        Entry update(long durationMs) {
+            long average = samples == 0
+                ? durationMs
+                : Math.round(ALPHA * durationMs + (1 - ALPHA) * averageMs);
+            return new Entry(average, durationMs, samples + 1, System.currentTimeMillis());
+        }
+
+        /**
+         * Combine histories of the same test recorded on different machines
+         */
+        Entry merge(Entry other) {
+            int total = samples + other.samples;
+            long average = total == 0 ? 0 : (averageMs * samples + other.averageMs * other.samples) / total;
+            Entry newer = updatedAt >= other.updatedAt ? this : other;
+            return new Entry(average, newer.lastMs, total, newer.updatedAt);
+        }
+    }
+
+    private DurationStore(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Open (or reuse) the store kept in the given history directory
+     */
+    public static DurationStore open(Path historyDirectory) {
+        return OPEN_STORES.computeIfAbsent(
+            historyDirectory.toAbsolutePath().normalize().resolve(FILE_NAME), DurationStore::new);
+    }
+
+    public void record(String testId, long durationMs) {
+        entries.compute(testId, (id, entry) ->
+            (entry == null ? new Entry(0, 0, 0, 0) : entry).update(Math.max(0, durationMs)));
+        median = null;
+    }
+
+    public OptionalLong estimate(String testId) {
+        Entry entry = entries.get(testId);
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.averageMs());
+    }
+
+    /**
+     * Estimate for a test, or the median of known tests when it has no history
+     */
+    public long estimateOrDefault(String testId, long fallbackMs) {
+        OptionalLong estimate = estimate(testId);
+        if (estimate.isPresent()) {
+            return estimate.getAsLong();
+        }
+        Long known = median;
+        if (known == null) {
+            long[] averages = entries.values().stream().mapToLong(Entry::averageMs).sorted().toArray();
+            known = averages.length == 0 ? -1 : averages[averages.length / 2];
+            median = known;
+        }
+        return known < 0 ? fallbackMs : known;
+    }
+
+    public Map<String, Entry> getEntries() {
+        return new TreeMap<>(entries);
+    }
+
+    public void mergeFrom(Map<String, Entry> other) {
+        other.forEach((id, entry) -> entries.merge(id, entry, Entry::merge));
+        median = null;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void save() {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+            MAPPER.writeValue(tmp.toFile(), new TreeMap<>(entries));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save test durations to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Read a durations file without registering it as an open store
+     */
+    public static Map<String, Entry> read(Path durationsFile) throws IOException {
+        return MAPPER.readValue(durationsFile.toFile(), new TypeReference<Map<String, Entry>>() {});
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            entries.putAll(read(file));
+            logger.info("Loaded {} test durations from {}", entries.size(), file);
+        } catch (IOException e) {
+            // History is an optimization only - never fail the run over it
+            logger.warn("Ignoring unreadable duration history {}: {}", file, e.getMessage());
+        }
+    }
+}
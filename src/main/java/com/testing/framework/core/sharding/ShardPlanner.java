@@ -0,0 +1,186 @@
+package com.testing.framework.core.sharding;
+
+import com.testing.framework.core.dag.DependencyGraph;
+import com.testing.framework.core.scheduling.BinPacker;
+import com.testing.framework.core.scheduling.DurationStore;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Splits the test methods of TestNG suites into N duration-balanced shards.
+ *
+ * The unit of assignment is a single test method, except that all methods of a class
+ * with dependencies ({@code dependsOnMethods}, {@code dependsOnGroups} or
+ * {@code @Consumes}) stay together, and a {@code <test>} declared through
+ * {@code <packages>} is assigned as a whole.
+ * Units are packed longest-first onto the least-loaded shard, using the recorded
+ * durations of one file every node shares (not each node's own history, which differs
+ * between CI runners). Planning is deterministic, so every node given the same suites
+ * and durations computes the same plan independently. Without durations, units are
+ * assigned by a hash of their ID instead, which needs no shared input at all.
+ */
+public class ShardPlanner {
+
+    private final Map<String, DurationStore.Entry> durations;
+    private final long fallbackMs;
+
+    /**
+     * A group of test IDs that must run on the same shard
+     */
+    public record Unit(String id, List<String> testIds, long estimateMs) {
+    }
+
+    /**
+     * Duration-balanced planner; tests missing from {@code durations} count with the
+     * median of the known ones ({@code fallbackMs} when there are none)
+     */
+    public ShardPlanner(Map<String, DurationStore.Entry> durations, long fallbackMs) {
+        this.durations = Map.copyOf(durations);
+        long[] known = durations.values().stream().mapToLong(DurationStore.Entry::averageMs).sorted().toArray();
+        this.fallbackMs = known.length == 0 ? fallbackMs : known[known.length / 2];
+    }
+
+    private ShardPlanner(long fallbackMs) {
+        this.durations = null;
+        this.fallbackMs = fallbackMs;
+    }
+
+    /**
+     * Planner assigning units by a hash of their ID, for when no shared durations exist
+     */
+    public static ShardPlanner hashBased(long fallbackMs) {
+        return new ShardPlanner(fallbackMs);
+    }
+
+    public boolean isHashBased() {
+        return durations == null;
+    }
+
+    /**
+     * Plan all suites into {@code shardTotal} shards
+     */
+    public BinPacker.Plan<Unit> plan(List<XmlSuite> suites, int shardTotal) {
+        Map<String, Unit> units = new TreeMap<>();
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                collectUnits(test, units);
+            }
+        }
+        if (isHashBased()) {
+            return assignByHash(units.values(), shardTotal);
+        }
+        return BinPacker.pack(new ArrayList<>(units.values()), Unit::estimateMs, shardTotal);
+    }
+
+    // String.hashCode is specified, so every JVM assigns the same unit to the same shard
+    private static BinPacker.Plan<Unit> assignByHash(Collection<Unit> units, int shardTotal) {
+        int shards = Math.max(1, shardTotal);
+        List<List<Unit>> bins = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            bins.add(new ArrayList<>());
+        }
+        long[] loads = new long[shards];
+        for (Unit unit : units) {
+            int shard = Math.floorMod(unit.id().hashCode(), shards);
+            bins.get(shard).add(unit);
+            loads[shard] += unit.estimateMs();
+        }
+        return new BinPacker.Plan<>(bins, loads);
+    }
+
+    /**
+     * Test IDs (and package-based test names) assigned to one shard
+     */
+    public static Set<String> selection(BinPacker.Plan<Unit> plan, int shardIndex) {
+        Set<String> selected = new HashSet<>();
+        plan.bins().get(shardIndex).forEach(unit -> selected.addAll(unit.testIds()));
+        return selected;
+    }
+
+    private void collectUnits(XmlTest test, Map<String, Unit> units) {
+        if (!test.getXmlPackages().isEmpty()) {
+            String id = packageUnitId(test);
+            units.putIfAbsent(id, new Unit(id, List.of(id), fallbackMs));
+            return;
+        }
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            Class<?> testClass = xmlClass.getSupportClass();
+            List<String> methods = testMethods(testClass, xmlClass);
+            if (methods.isEmpty()) {
+                continue;
+            }
+            List<String> ids = methods.stream().map(m -> testClass.getName() + "#" + m).toList();
+            if (hasDependencies(testClass)) {
+                units.putIfAbsent(testClass.getName(), new Unit(testClass.getName(), ids, estimate(ids)));
+            } else {
+                ids.forEach(id -> units.putIfAbsent(id, new Unit(id, List.of(id), estimate(List.of(id)))));
+            }
+        }
+    }
+
+    private long estimate(List<String> testIds) {
+        return testIds.stream().mapToLong(id -> {
+            DurationStore.Entry entry = durations != null ? durations.get(id) : null;
+            return entry != null ? entry.averageMs() : fallbackMs;
+        }).sum();
+    }
+
+    public static String packageUnitId(XmlTest test) {
+        return "test:" + test.getName();
+    }
+
+    /**
+     * Public @Test methods of a class, honouring include/exclude lists of the suite
+     */
+    public static List<String> testMethods(Class<?> testClass, XmlClass xmlClass) {
+        Set<String> included = new HashSet<>();
+        for (XmlInclude include : xmlClass.getIncludedMethods()) {
+            included.add(include.getName());
+        }
+        Set<String> excluded = new HashSet<>(xmlClass.getExcludedMethods());
+
+        SortedSet<String> methods = new TreeSet<>();
+        for (Method method : testClass.getMethods()) {
+            if (method.getDeclaringClass() == Object.class || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            boolean annotated = method.isAnnotationPresent(Test.class)
+                || method.getDeclaringClass().isAnnotationPresent(Test.class);
+            if (!annotated || isConfiguration(method)) {
+                continue;
+            }
+            String name = method.getName();
+            if ((included.isEmpty() || included.contains(name)) && !excluded.contains(name)) {
+                methods.add(name);
+            }
+        }
+        return new ArrayList<>(methods);
+    }
+
+    private static boolean hasDependencies(Class<?> testClass) {
+        if (DependencyGraph.forClass(testClass).hasDependencies()) {
+            return true;
+        }
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            if (test != null && test.dependsOnGroups().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConfiguration(Method method) {
+        return Arrays.stream(method.getAnnotations())
+            .map(a -> a.annotationType().getName())
+            .anyMatch(name -> name.startsWith("org.testng.annotations.Before")
+                || name.startsWith("org.testng.annotations.After"));
+    }
+}
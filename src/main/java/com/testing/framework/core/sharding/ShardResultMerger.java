@@ -0,0 +1,112 @@
+package com.testing.framework.core.sharding;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.framework.core.metrics.MetricsReportWriter;
+import com.testing.framework.core.metrics.RunMetrics;
+import com.testing.framework.core.metrics.TestMetric;
+import com.testing.framework.core.scheduling.DurationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Merges the results of sharded runs into one report.
+ *
+ * Each shard directory may contain {@code allure-results/}, {@code metrics/test-metrics.json}
+ * and {@code durations.json}. Allure results are copied side by side (file names are
+ * UUIDs), metrics are rebuilt from the individual test records so histograms stay exact,
+ * and duration histories are folded into the shared history store.
+ *
+ * <pre>
+ * ShardResultMerger --out target/merged [--history .test-history] shard-1 shard-2 ...
+ * </pre>
+ */
+public class ShardResultMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardResultMerger.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get("target/merged");
+        Path history = null;
+        List<Path> shards = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out" -> output = Paths.get(args[++i]);
+                case "--history" -> history = Paths.get(args[++i]);
+                default -> shards.add(Paths.get(args[i]));
+            }
+        }
+        if (shards.isEmpty()) {
+            System.err.println("Usage: ShardResultMerger --out <dir> [--history <dir>] <shard-dir>...");
+            System.exit(2);
+        }
+        new ShardResultMerger().merge(shards, output, history);
+    }
+
+    public void merge(List<Path> shards, Path output, Path historyDirectory) throws IOException {
+        RunMetrics merged = RunMetrics.create();
+        DurationStore durations = historyDirectory != null ? DurationStore.open(historyDirectory) : null;
+        int allureFiles = 0;
+
+        for (Path shard : shards) {
+            allureFiles += copyAllureResults(shard.resolve("allure-results"), output.resolve("allure-results"));
+            mergeMetrics(shard.resolve("metrics").resolve(MetricsReportWriter.JSON_FILE), merged);
+
+            Path shardDurations = shard.resolve(DurationStore.FILE_NAME);
+            if (durations != null && Files.exists(shardDurations)) {
+                durations.mergeFrom(DurationStore.read(shardDurations));
+            }
+        }
+
+        MetricsReportWriter.write(merged, output.resolve("metrics"));
+        if (durations != null) {
+            durations.save();
+        }
+        logger.info("Merged {} shards: {} tests, {} Allure result files -> {}",
+            shards.size(), merged.getTests().size(), allureFiles, output);
+    }
+
+    private static int copyAllureResults(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return 0;
+        }
+        Files.createDirectories(target);
+        int copied = 0;
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    copied++;
+                }
+            }
+        }
+        return copied;
+    }
+
+    private static void mergeMetrics(Path metricsFile, RunMetrics merged) throws IOException {
+        if (!Files.exists(metricsFile)) {
+            logger.warn("No metrics found at {}", metricsFile);
+            return;
+        }
+        JsonNode tests = MAPPER.readTree(metricsFile.toFile()).path("tests");
+        for (JsonNode node : tests) {
+            TestMetric metric = MAPPER.treeToValue(node, TestMetric.class);
+            merged.record(metric);
+            // Shards run concurrently, so the merged wall clock spans all of them
+            merged.markRunStart(metric.startMillis());
+            merged.markRunEnd(metric.startMillis() + metric.wallMs() + metric.teardownMs());
+        }
+    }
+}
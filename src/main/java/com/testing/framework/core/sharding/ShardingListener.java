@@ -0,0 +1,112 @@
+package com.testing.framework.core.sharding;
+
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.scheduling.BinPacker;
+import com.testing.framework.core.scheduling.DurationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Restricts the run to one shard of a duration-balanced plan.
+ *
+ * Activated with {@code -Dshard.total=N -Dshard.index=i} (0-based). Every node plans
+ * the same suites with the durations of {@code shard.durations.file}, a file all nodes
+ * share (e.g. the merged history of the previous run), keeps only the methods of its own
+ * shard and drops {@code <test>} elements left empty. When that file is not configured
+ * or missing, tests are assigned by hash instead: unbalanced, but still identical on
+ * every node. The node's own {@code history.dir} is never used, since it differs
+ * between runners.
+ */
+public class ShardingListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigManager config = ConfigManager.getInstance();
+        int total = Integer.parseInt(config.getProperty("shard.total", "1"));
+        if (total <= 1) {
+            return;
+        }
+        int index = Integer.parseInt(config.getProperty("shard.index", "0"));
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + total + "), got " + index);
+        }
+
+        long fallbackMs = Long.parseLong(config.getProperty("scheduling.default.duration.ms", "1000"));
+        ShardPlanner planner = planner(config.getProperty("shard.durations.file", ""), fallbackMs);
+
+        BinPacker.Plan<ShardPlanner.Unit> plan = planner.plan(suites, total);
+        Set<String> selected = ShardPlanner.selection(plan, index);
+        logger.info("Shard {}/{} ({}): {} of {} planned units, estimated {} ms (slowest shard {} ms)",
+            index + 1, total, planner.isHashBased() ? "by hash" : "by duration", plan.bins().get(index).size(),
+            plan.bins().stream().mapToInt(List::size).sum(), plan.loads()[index], plan.makespan());
+
+        for (XmlSuite suite : suites) {
+            List<XmlTest> kept = new ArrayList<>();
+            for (XmlTest test : suite.getTests()) {
+                if (restrict(test, selected)) {
+                    kept.add(test);
+                }
+            }
+            suite.setTests(kept);
+        }
+    }
+
+    private static ShardPlanner planner(String durationsFile, long fallbackMs) {
+        if (durationsFile.isBlank()) {
+            logger.warn("shard.durations.file not set; assigning tests to shards by hash");
+            return ShardPlanner.hashBased(fallbackMs);
+        }
+        Path file = Paths.get(durationsFile);
+        if (!Files.exists(file)) {
+            logger.warn("Shared durations {} not found; assigning tests to shards by hash", file);
+            return ShardPlanner.hashBased(fallbackMs);
+        }
+        try {
+            return new ShardPlanner(DurationStore.read(file), fallbackMs);
+        } catch (IOException e) {
+            logger.warn("Unreadable shared durations {} ({}); assigning tests to shards by hash", file, e.getMessage());
+            return ShardPlanner.hashBased(fallbackMs);
+        }
+    }
+
+    /**
+     * Narrow a test to the selected test IDs; false when nothing of it is left
+     */
+    public static boolean restrict(XmlTest test, Set<String> selected) {
+        if (!test.getXmlPackages().isEmpty()) {
+            return selected.contains(ShardPlanner.packageUnitId(test));
+        }
+
+        List<XmlClass> keptClasses = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            Class<?> testClass = xmlClass.getSupportClass();
+            List<XmlInclude> includes = new ArrayList<>();
+            for (String method : ShardPlanner.testMethods(testClass, xmlClass)) {
+                if (selected.contains(testClass.getName() + "#" + method)) {
+                    includes.add(new XmlInclude(method));
+                }
+            }
+            if (!includes.isEmpty()) {
+                xmlClass.setIncludedMethods(includes);
+                keptClasses.add(xmlClass);
+            }
+        }
+        test.setXmlClasses(keptClasses);
+        return !keptClasses.isEmpty();
+    }
+}
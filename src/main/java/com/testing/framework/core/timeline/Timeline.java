@@ -0,0 +1,40 @@
+package com.testing.framework.core.timeline;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Run-wide collection of {@link TimelineEvent}s
+ */
+public class Timeline {
+
+    private static final Timeline INSTANCE = new Timeline();
+
+    private final Queue<TimelineEvent> events = new ConcurrentLinkedQueue<>();
+
+    private Timeline() {
+    }
+
+    public static Timeline get() {
+        return INSTANCE;
+    }
+
+    public static Timeline create() {
+        return new Timeline();
+    }
+
+    public void record(TimelineEvent event) {
+        events.add(event);
+    }
+
+    /**
+     * Events ordered by start time
+     */
+    public List<TimelineEvent> getEvents() {
+        return events.stream()
+            .sorted(Comparator.comparingLong(TimelineEvent::startMillis).thenComparing(TimelineEvent::threadName))
+            .toList();
+    }
+}
@@ -0,0 +1,179 @@
+package com.testing.framework.core.timeline;
+
+import java.util.*;
+
+/**
+ * Thread utilization, idle gaps and dependency critical path of a timeline.
+ *
+ * An idle gap is time a worker thread spent between two of its events (or before its
+ * first / after its last one). When the event that ends a gap depends on a method that
+ * finished during the gap, the gap is attributed to that dependency. The critical path
+ * is the longest chain of {@code dependsOnMethods} edges (plus each class's
+ * {@code @BeforeClass}) weighted by duration - no number of threads can finish the run
+ * faster than that.
+ */
+public class TimelineAnalysis {
+
+    /** Slack allowed between a dependency finishing and its dependent starting */
+    private static final long DEPENDENCY_SLACK_MS = 50;
+
+    public record Lane(String threadName, int events, long busyMs, double utilization) {
+    }
+
+    public record IdleGap(String threadName, long startMillis, long endMillis, String nextEventId, String waitingOn) {
+
+        public long durationMs() {
+            return endMillis - startMillis;
+        }
+    }
+
+    public record CriticalPath(long lengthMs, List<String> eventIds) {
+    }
+
+    private final long runStart;
+    private final long runEnd;
+    private final List<Lane> lanes;
+    private final List<IdleGap> gaps;
+    private final CriticalPath criticalPath;
+
+    public TimelineAnalysis(List<TimelineEvent> events, long minGapMs) {
+        this.runStart = events.stream().mapToLong(TimelineEvent::startMillis).min().orElse(0);
+        this.runEnd = events.stream().mapToLong(TimelineEvent::endMillis).max().orElse(0);
+
+        Map<String, List<TimelineEvent>> byThread = new TreeMap<>();
+        events.forEach(e -> byThread.computeIfAbsent(e.threadName(), k -> new ArrayList<>()).add(e));
+        Map<String, TimelineEvent> latestById = new HashMap<>();
+        events.forEach(e -> latestById.merge(key(e.suite(), e.id()), e,
+            (a, b) -> a.endMillis() >= b.endMillis() ? a : b));
+
+        List<Lane> laneList = new ArrayList<>();
+        List<IdleGap> gapList = new ArrayList<>();
+        byThread.forEach((thread, threadEvents) -> {
+            threadEvents.sort(Comparator.comparingLong(TimelineEvent::startMillis));
+            long busy = 0;
+            long cursor = runStart;
+            for (TimelineEvent event : threadEvents) {
+                if (event.startMillis() - cursor >= minGapMs) {
+                    gapList.add(new IdleGap(thread, cursor, event.startMillis(), event.id(),
+                        blockingDependency(event, cursor, latestById)));
+                }
+                // Nested or overlapping events on one thread count once
+                busy += Math.max(0, event.endMillis() - Math.max(cursor, event.startMillis()));
+                cursor = Math.max(cursor, event.endMillis());
+            }
+            if (runEnd - cursor >= minGapMs) {
+                gapList.add(new IdleGap(thread, cursor, runEnd, null, null));
+            }
+            laneList.add(new Lane(thread, threadEvents.size(), busy, getWallClockMs() == 0 ? 0
+                : (double) busy / getWallClockMs()));
+        });
+        gapList.sort(Comparator.comparingLong(IdleGap::durationMs).reversed());
+
+        this.lanes = laneList;
+        this.gaps = gapList;
+        this.criticalPath = criticalPath(events, latestById);
+    }
+
+    private static String blockingDependency(TimelineEvent event, long gapStart, Map<String, TimelineEvent> latestById) {
+        TimelineEvent blocker = null;
+        for (String dependency : event.dependsOn()) {
+            TimelineEvent candidate = latestById.get(key(event.suite(), dependency));
+            if (candidate != null && candidate.endMillis() >= gapStart
+                && candidate.endMillis() <= event.startMillis() + DEPENDENCY_SLACK_MS
+                && (blocker == null || candidate.endMillis() > blocker.endMillis())) {
+                blocker = candidate;
+            }
+        }
+        return blocker != null ? blocker.id() : null;
+    }
+
+    private static CriticalPath criticalPath(List<TimelineEvent> events, Map<String, TimelineEvent> latestById) {
+        Map<String, List<TimelineEvent>> beforeClassByClass = new HashMap<>();
+        for (TimelineEvent event : events) {
+            if ("BEFORE_CLASS".equals(event.kind())) {
+                beforeClassByClass.computeIfAbsent(key(event.suite(), event.className()), k -> new ArrayList<>()).add(event);
+            }
+        }
+
+        // Events sorted by start time, so predecessors are always computed first
+        Map<TimelineEvent, Long> length = new IdentityHashMap<>();
+        Map<TimelineEvent, TimelineEvent> previous = new IdentityHashMap<>();
+        TimelineEvent last = null;
+        for (TimelineEvent event : events) {
+            List<TimelineEvent> predecessors = new ArrayList<>();
+            for (String dependency : event.dependsOn()) {
+                TimelineEvent candidate = latestById.get(key(event.suite(), dependency));
+                if (candidate != null && candidate.endMillis() <= event.startMillis() + DEPENDENCY_SLACK_MS) {
+                    predecessors.add(candidate);
+                }
+            }
+            if (event.isTest()) {
+                predecessors.addAll(beforeClassByClass.getOrDefault(key(event.suite(), event.className()), List.of()));
+            }
+
+            long best = 0;
+            TimelineEvent bestPredecessor = null;
+            for (TimelineEvent predecessor : predecessors) {
+                Long predecessorLength = length.get(predecessor);
+                if (predecessorLength != null && predecessorLength > best) {
+                    best = predecessorLength;
+                    bestPredecessor = predecessor;
+                }
+            }
+            length.put(event, best + event.durationMs());
+            previous.put(event, bestPredecessor);
+            if (last == null || length.get(event) > length.get(last)) {
+                last = event;
+            }
+        }
+        if (last == null) {
+            return new CriticalPath(0, List.of());
+        }
+
+        LinkedList<String> path = new LinkedList<>();
+        for (TimelineEvent event = last; event != null; event = previous.get(event)) {
+            path.addFirst(event.id());
+        }
+        return new CriticalPath(length.get(last), path);
+    }
+
+    private static String key(String suite, String id) {
+        return suite + "|" + id;
+    }
+
+    public long getRunStart() {
+        return runStart;
+    }
+
+    public long getRunEnd() {
+        return runEnd;
+    }
+
+    public long getWallClockMs() {
+        return Math.max(0, runEnd - runStart);
+    }
+
+    public List<Lane> getLanes() {
+        return lanes;
+    }
+
+    public List<IdleGap> getGaps() {
+        return gaps;
+    }
+
+    public CriticalPath getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Busy time over thread-time available across all lanes
+     */
+    public double getUtilization() {
+        long available = getWallClockMs() * lanes.size();
+        return available == 0 ? 0 : (double) lanes.stream().mapToLong(Lane::busyMs).sum() / available;
+    }
+
+    public long getIdleMs() {
+        return gaps.stream().mapToLong(IdleGap::durationMs).sum();
+    }
+}
@@ -0,0 +1,30 @@
+package com.testing.framework.core.timeline;
+
+import java.util.List;
+
+/**
+ * One test or configuration method execution on a worker thread.
+ *
+ * @param id        {@code class#method}
+ * @param kind      {@code TEST} or the configuration type, e.g. {@code BEFORE_CLASS}
+ * @param suite     suite name; IDs are unique within a suite only
+ * @param dependsOn IDs from {@code dependsOnMethods}
+ */
+public record TimelineEvent(String id, String kind, String suite, String threadName,
+                            long startMillis, long endMillis, String status, List<String> dependsOn) {
+
+    public static final String TEST = "TEST";
+
+    public long durationMs() {
+        return Math.max(0, endMillis - startMillis);
+    }
+
+    public boolean isTest() {
+        return TEST.equals(kind);
+    }
+
+    public String className() {
+        int hash = id.indexOf('#');
+        return hash < 0 ? id : id.substring(0, hash);
+    }
+}
@@ -0,0 +1,143 @@
+package com.testing.framework.core.timeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Writes a timeline as {@code timeline.json} and a self-contained Gantt chart {@code timeline.html}
+ */
+public class TimelineReportWriter {
+
+    public static final String JSON_FILE = "timeline.json";
+    public static final String HTML_FILE = "timeline.html";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private TimelineReportWriter() {
+    }
+
+    public static void write(List<TimelineEvent> events, TimelineAnalysis analysis, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        MAPPER.writeValue(directory.resolve(JSON_FILE).toFile(), toJson(events, analysis));
+        Files.writeString(directory.resolve(HTML_FILE), toHtml(events, analysis), StandardCharsets.UTF_8);
+    }
+
+    public static Map<String, Object> toJson(List<TimelineEvent> events, TimelineAnalysis analysis) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("wallClockMs", analysis.getWallClockMs());
+        summary.put("threads", analysis.getLanes().size());
+        summary.put("utilization", round(analysis.getUtilization()));
+        summary.put("idleMs", analysis.getIdleMs());
+        summary.put("criticalPathMs", analysis.getCriticalPath().lengthMs());
+
+        List<Map<String, Object>> gaps = new ArrayList<>();
+        for (TimelineAnalysis.IdleGap gap : analysis.getGaps()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("thread", gap.threadName());
+            entry.put("startMs", gap.startMillis() - analysis.getRunStart());
+            entry.put("durationMs", gap.durationMs());
+            entry.put("nextEvent", gap.nextEventId());
+            entry.put("waitingOn", gap.waitingOn());
+            gaps.add(entry);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("generatedAt", Instant.now().toString());
+        json.put("runStartMillis", analysis.getRunStart());
+        json.put("summary", summary);
+        json.put("lanes", analysis.getLanes());
+        json.put("idleGaps", gaps);
+        json.put("criticalPath", analysis.getCriticalPath());
+        json.put("events", events);
+        return json;
+    }
+
+    static String toHtml(List<TimelineEvent> events, TimelineAnalysis analysis) {
+        long wall = Math.max(1, analysis.getWallClockMs());
+        long start = analysis.getRunStart();
+        Set<String> critical = new HashSet<>(analysis.getCriticalPath().eventIds());
+
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Test Thread Timeline</title>\n<style>\n")
+            .append("body{font-family:sans-serif;margin:20px;color:#222}")
+            .append(".lane{display:flex;align-items:center;margin:2px 0}")
+            .append(".name{width:220px;font-size:12px;overflow:hidden;white-space:nowrap;text-overflow:ellipsis}")
+            .append(".track{position:relative;flex:1;height:22px;background:#f4f4f4}")
+            .append(".bar{position:absolute;top:2px;height:18px;min-width:1px;box-sizing:border-box;border-radius:2px}")
+            .append(".gap{position:absolute;top:0;height:22px;background:repeating-linear-gradient(45deg,#fde2e2,#fde2e2 4px,#fff 4px,#fff 8px)}")
+            .append(".SUCCESS{background:#4caf50}.FAILURE{background:#e53935}.SKIP{background:#9e9e9e}.CONFIG{background:#42a5f5}")
+            .append(".critical{outline:2px solid #000;z-index:1}")
+            .append("table{border-collapse:collapse;margin:10px 0;font-size:13px}td,th{border:1px solid #ccc;padding:3px 8px;text-align:left}")
+            .append("\n</style></head><body>\n");
+
+        html.append("<h1>Test Thread Timeline</h1>\n<p>")
+            .append(String.format("Wall clock %d ms on %d threads, utilization %.0f%%, idle %d ms, critical path %d ms",
+                analysis.getWallClockMs(), analysis.getLanes().size(), analysis.getUtilization() * 100,
+                analysis.getIdleMs(), analysis.getCriticalPath().lengthMs()))
+            .append("</p>\n<p>Green: passed, red: failed, grey: skipped, blue: configuration methods; ")
+            .append("outlined bars are on the critical path, hatched areas are idle gaps.</p>\n");
+
+        Map<String, List<TimelineEvent>> byThread = new TreeMap<>();
+        events.forEach(e -> byThread.computeIfAbsent(e.threadName(), k -> new ArrayList<>()).add(e));
+        for (Map.Entry<String, List<TimelineEvent>> lane : byThread.entrySet()) {
+            html.append("<div class=\"lane\"><div class=\"name\" title=\"").append(escape(lane.getKey())).append("\">")
+                .append(escape(lane.getKey())).append("</div><div class=\"track\">");
+            for (TimelineAnalysis.IdleGap gap : analysis.getGaps()) {
+                if (gap.threadName().equals(lane.getKey())) {
+                    html.append(String.format(Locale.ROOT, "<div class=\"gap\" style=\"left:%.3f%%;width:%.3f%%\" title=\"idle %d ms%s\"></div>",
+                        percent(gap.startMillis() - start, wall), percent(gap.durationMs(), wall), gap.durationMs(),
+                        gap.waitingOn() != null ? " waiting on " + escape(gap.waitingOn()) : ""));
+                }
+            }
+            for (TimelineEvent event : lane.getValue()) {
+                String css = event.isTest() ? event.status() : "CONFIG";
+                if (event.isTest() && critical.contains(event.id())) {
+                    css += " critical";
+                }
+                html.append(String.format(Locale.ROOT, "<div class=\"bar %s\" style=\"left:%.3f%%;width:%.3f%%\" title=\"%s [%s] %d ms\"></div>",
+                    css, percent(event.startMillis() - start, wall), percent(event.durationMs(), wall),
+                    escape(event.id()), escape(event.kind()), event.durationMs()));
+            }
+            html.append("</div></div>\n");
+        }
+
+        html.append("<h2>Threads</h2>\n<table><tr><th>Thread</th><th>Events</th><th>Busy ms</th><th>Utilization</th></tr>\n");
+        for (TimelineAnalysis.Lane lane : analysis.getLanes()) {
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td>%d</td><td>%.0f%%</td></tr>%n",
+                escape(lane.threadName()), lane.events(), lane.busyMs(), lane.utilization() * 100));
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Largest idle gaps</h2>\n<table><tr><th>Thread</th><th>At ms</th><th>Idle ms</th><th>Next</th><th>Waiting on</th></tr>\n");
+        analysis.getGaps().stream().limit(20).forEach(gap -> html.append(String.format(
+            "<tr><td>%s</td><td>%d</td><td>%d</td><td>%s</td><td>%s</td></tr>%n",
+            escape(gap.threadName()), gap.startMillis() - start, gap.durationMs(),
+            gap.nextEventId() != null ? escape(gap.nextEventId()) : "(end of run)",
+            gap.waitingOn() != null ? escape(gap.waitingOn()) : "")));
+        html.append("</table>\n");
+
+        html.append("<h2>Critical path (").append(analysis.getCriticalPath().lengthMs()).append(" ms)</h2>\n<ol>\n");
+        analysis.getCriticalPath().eventIds().forEach(id -> html.append("<li>").append(escape(id)).append("</li>\n"));
+        html.append("</ol>\n</body></html>\n");
+        return html.toString();
+    }
+
+    private static double percent(long value, long total) {
+        return Math.max(0, value) * 100.0 / total;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,185 @@
+package com.testing.framework.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of pre-provisioned fixtures leased to tests.
+ *
+ * Fixtures are created in batches on a background executor and kept topped up to the
+ * target size, so a lease normally returns immediately. Leases are single-use: a leased
+ * fixture belongs to the test (it may update or delete it) and never returns to the
+ * pool. Every fixture the pool created, plus those registered with {@link #track},
+ * is deleted in batches by {@link #close()}.
+ *
+ * @param <T> fixture type
+ */
+public class FixturePool<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixturePool.class);
+
+    private final String name;
+    private final FixtureProvisioner<T> provisioner;
+    private final ExecutorService executor;
+    private final Settings settings;
+
+    private final BlockingQueue<T> available = new LinkedBlockingQueue<>();
+    private final Queue<T> owned = new ConcurrentLinkedQueue<>();
+    private final Queue<Future<?>> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+    private volatile RuntimeException lastFailure;
+    private volatile boolean closed;
+
+    /**
+     * Sizing of a pool
+     *
+     * @param targetSize   fixtures kept ready
+     * @param batchSize    fixtures created or deleted per background task
+     * @param leaseTimeout how long a lease waits for provisioning
+     * @param cleanup      delete owned fixtures on close
+     */
+    public record Settings(int targetSize, int batchSize, Duration leaseTimeout, boolean cleanup) {
+    }
+
+    public FixturePool(String name, FixtureProvisioner<T> provisioner, ExecutorService executor, Settings settings) {
+        this.name = name;
+        this.provisioner = provisioner;
+        this.executor = executor;
+        this.settings = settings;
+    }
+
+    /**
+     * Start provisioning up to the target size in the background
+     */
+    public FixturePool<T> start() {
+        refill();
+        return this;
+    }
+
+    /**
+     * Take a fixture for exclusive use by the calling test
+     *
+     * @throws IllegalStateException when none becomes available within the lease timeout
+     */
+    public T lease() {
+        if (closed) {
+            throw new IllegalStateException("Fixture pool '" + name + "' is closed");
+        }
+        T fixture = available.poll();
+        if (fixture == null) {
+            refill();
+            try {
+                fixture = available.poll(settings.leaseTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while leasing from fixture pool '" + name + "'", e);
+            }
+        }
+        if (fixture == null) {
+            throw new IllegalStateException("No fixture available from pool '" + name + "' within "
+                + settings.leaseTimeout().toMillis() + " ms", lastFailure);
+        }
+        leased.incrementAndGet();
+        refill();
+        return fixture;
+    }
+
+    /**
+     * Register a fixture created by a test, so it is deleted with the pool's own
+     */
+    public T track(T fixture) {
+        owned.add(fixture);
+        return fixture;
+    }
+
+    public int available() {
+        return available.size();
+    }
+
+    public int leased() {
+        return leased.get();
+    }
+
+    /**
+     * Schedule batches for the shortfall between ready plus in-flight fixtures and the target
+     */
+    private void refill() {
+        while (!closed) {
+            int pending = inFlight.get();
+            int missing = settings.targetSize() - available.size() - pending;
+            // Top up in whole batches, but never leave an empty pool without provisioning
+            if (missing < settings.batchSize() && !(missing > 0 && available.isEmpty() && pending == 0)) {
+                return;
+            }
+            int count = Math.min(settings.batchSize(), missing);
+            if (inFlight.compareAndSet(pending, pending + count)) {
+                batches.add(executor.submit(() -> provisionBatch(count)));
+            }
+        }
+    }
+
+    private void provisionBatch(int count) {
+        try {
+            List<T> created = provisioner.provision(count);
+            owned.addAll(created);
+            if (closed) {
+                return;
+            }
+            available.addAll(created);
+            lastFailure = null;
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            logger.warn("Provisioning {} fixtures for pool '{}' failed: {}", count, name, e.getMessage());
+        } finally {
+            inFlight.addAndGet(-count);
+        }
+    }
+
+    /**
+     * Wait for running batches, then delete every owned fixture in parallel batches
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Future<?> batch : batches) {
+            await(batch);
+        }
+        if (!settings.cleanup() || owned.isEmpty()) {
+            return;
+        }
+        List<T> fixtures = new ArrayList<>(owned);
+        owned.clear();
+        available.clear();
+        List<Future<?>> deletions = new ArrayList<>();
+        for (int from = 0; from < fixtures.size(); from += settings.batchSize()) {
+            List<T> batch = fixtures.subList(from, Math.min(from + settings.batchSize(), fixtures.size()));
+            deletions.add(executor.submit(() -> provisioner.cleanup(batch)));
+        }
+        deletions.forEach(FixturePool::await);
+        logger.info("Fixture pool '{}' closed: {} leased, {} fixtures cleaned up", name, leased.get(), fixtures.size());
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Fixture batch failed: {}", e.getCause().getMessage());
+        }
+    }
+}
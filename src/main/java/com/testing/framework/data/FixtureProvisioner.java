@@ -0,0 +1,21 @@
+package com.testing.framework.data;
+
+import java.util.List;
+
+/**
+ * Creates and deletes fixtures of one kind in batches
+ *
+ * @param <T> fixture type
+ */
+public interface FixtureProvisioner<T> {
+
+    /**
+     * Create {@code count} fresh fixtures; may return fewer if some could not be created
+     */
+    List<T> provision(int count);
+
+    /**
+     * Delete fixtures, ignoring those that no longer exist
+     */
+    void cleanup(List<T> fixtures);
+}
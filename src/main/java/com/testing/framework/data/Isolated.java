@@ -0,0 +1,16 @@
+package com.testing.framework.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test class against its own tenant of the API, created from the API's
+ * initial data, so its writes never meet those of other classes running in parallel
+ * (see {@link TenantIsolationListener}).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Isolated {
+}
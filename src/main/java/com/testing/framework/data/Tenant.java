@@ -0,0 +1,116 @@
+package com.testing.framework.data;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.net.URI;
+import java.util.Optional;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Isolated tenant of the demo API: its own users, starting as a fork of a snapshot of
+ * the store it was created from that shares the snapshot's data until written. The tenant's API lives under
+ * {@link #baseUrl()}; closing the tenant deletes it.
+ *
+ * Named snapshots and resets of the tenant are O(1) on the server, and writes after
+ * them copy only what they change, so a test can also roll its tenant back between steps.
+ */
+public final class Tenant implements AutoCloseable {
+
+    /** Snapshot the demo API takes once its demo data is in place */
+    public static final String INITIAL_SNAPSHOT = "initial";
+
+    private final String id;
+    private final String baseUrl;
+    private final RequestSpecification adminSpec;
+
+    private Tenant(String id, String baseUrl, RequestSpecification adminSpec) {
+        this.id = id;
+        this.baseUrl = baseUrl;
+        this.adminSpec = adminSpec;
+    }
+
+    /**
+     * Create tenant {@code id} through the API at {@code apiBaseUrl} (itself possibly a
+     * tenant, whose snapshot is then used)
+     *
+     * @return empty when the API has no tenants (404/405) or no such snapshot
+     * @throws IllegalStateException when the API rejects the tenant (e.g. 409 for an existing one)
+     */
+    public static Optional<Tenant> create(String apiBaseUrl, String id, String fromSnapshot) {
+        RequestSpecification adminSpec = spec(apiBaseUrl);
+        Response response = given(adminSpec)
+            .pathParam("tenant", id)
+            .queryParam("from", fromSnapshot)
+            .put("/admin/tenants/{tenant}");
+        if (response.statusCode() == 404 || response.statusCode() == 405) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 201 || response.header("Location") == null) {
+            throw new IllegalStateException("Creating tenant " + id + " failed with HTTP "
+                + response.statusCode() + ": " + response.asString());
+        }
+        String baseUrl = URI.create(apiBaseUrl).resolve(response.header("Location")).toString();
+        return Optional.of(new Tenant(id, baseUrl, adminSpec));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * API base URL of the tenant, used in place of {@code api.base.url}
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Save the tenant's current users under {@code name}
+     */
+    public void snapshot(String name) {
+        expect(given(spec(baseUrl)).pathParam("name", name).put("/admin/snapshots/{name}"), 200, "snapshot " + name);
+    }
+
+    /**
+     * Roll the tenant back to snapshot {@code name}
+     */
+    public void reset(String name) {
+        expect(given(spec(baseUrl)).pathParam("name", name).post("/admin/snapshots/{name}/reset"), 204, "reset to " + name);
+    }
+
+    /**
+     * Delete the tenant and its users
+     */
+    @Override
+    public void close() {
+        Response response = given(adminSpec).pathParam("tenant", id).delete("/admin/tenants/{tenant}");
+        // 404: already deleted
+        if (response.statusCode() != 204 && response.statusCode() != 404) {
+            expect(response, 204, "delete");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return id + " (" + baseUrl + ")";
+    }
+
+    private void expect(Response response, int status, String action) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Tenant " + id + ": " + action + " failed with HTTP "
+                + response.statusCode() + ": " + response.asString());
+        }
+    }
+
+    // Bare specification, as in UserFixtureProvisioner: also used outside of any test
+    private static RequestSpecification spec(String baseUrl) {
+        return new RequestSpecBuilder()
+            .setBaseUri(baseUrl)
+            .setAccept(ContentType.JSON)
+            .build();
+    }
+}
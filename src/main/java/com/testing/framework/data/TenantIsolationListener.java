@@ -0,0 +1,116 @@
+package com.testing.framework.data;
+
+import com.testing.framework.core.config.ConfigAware;
+import com.testing.framework.core.config.ConfigContext;
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.listeners.MultiEnvironmentListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IClassListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestClass;
+import org.testng.ITestResult;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every {@link Isolated} test class its own {@link Tenant} of the API under test.
+ *
+ * The tenant is created before the class's first method runs. Around each of its test
+ * and configuration methods, a configuration with {@code api.base.url} pointing at the
+ * tenant is bound to the invoking thread ({@link ConfigContext}), so API clients, specs
+ * built from the configuration and fixture pools ({@link TestData}) all work inside the
+ * tenant. When the class finishes, its fixture pools are closed and the tenant deleted.
+ *
+ * One tenant is created per class and environment; declare this listener after the
+ * {@code MultiEnvironmentListener}. APIs without tenants keep the class on the shared
+ * API. {@code data.isolation.enabled=false} turns isolation off.
+ */
+public class TenantIsolationListener implements IInvokedMethodListener, IClassListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantIsolationListener.class);
+
+    /**
+     * Tenant of a class in one environment, with the configuration pointing at it
+     */
+    private record Binding(Class<?> testClass, Tenant tenant, ConfigManager config) {}
+
+    // Keyed by environment and class; empty when the API has no tenants
+    private static final Map<String, Optional<Binding>> bindings = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        Class<?> testClass = method.getTestMethod().getRealClass();
+        if (!testClass.isAnnotationPresent(Isolated.class)) {
+            return;
+        }
+        ConfigManager shared = ConfigManager.getInstance();
+        if (!Boolean.parseBoolean(shared.getProperty("data.isolation.enabled", "true"))) {
+            return;
+        }
+        Optional<Binding> binding = bindings.computeIfAbsent(
+            key(shared.getEnvironment(), testClass), key -> open(testClass, shared));
+        if (binding.isEmpty()) {
+            return;
+        }
+        ConfigContext.activate(binding.get().config());
+        if (method.getTestMethod().getInstance() instanceof ConfigAware configAware) {
+            configAware.applyConfig(binding.get().config());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.getTestMethod().getRealClass().isAnnotationPresent(Isolated.class)) {
+            ConfigContext.clear();
+        }
+    }
+
+    @Override
+    public void onBeforeClass(ITestClass testClass) {
+    }
+
+    /**
+     * Close only this environment's tenant; the class may still run in other environments
+     */
+    @Override
+    public void onAfterClass(ITestClass testClass) {
+        String env = testClass.getXmlTest().getParameter(MultiEnvironmentListener.ENV_PARAMETER);
+        String environment = env != null ? env : ConfigManager.getInstance().getEnvironment();
+        Optional<Binding> binding = bindings.remove(key(environment, testClass.getRealClass()));
+        if (binding != null) {
+            binding.ifPresent(TenantIsolationListener::close);
+        }
+    }
+
+    private static String key(String environment, Class<?> testClass) {
+        return environment + "|" + testClass.getName();
+    }
+
+    private static Optional<Binding> open(Class<?> testClass, ConfigManager shared) {
+        String id = testClass.getSimpleName().replaceAll("[^A-Za-z0-9]", "-").toLowerCase(Locale.ROOT)
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Optional<Tenant> tenant = Tenant.create(shared.getApiBaseUrl(), id, Tenant.INITIAL_SNAPSHOT);
+        if (tenant.isEmpty()) {
+            logger.warn("API at {} has no tenants; {} runs against shared data", shared.getApiBaseUrl(), testClass.getName());
+            return Optional.empty();
+        }
+        logger.info("{} isolated in tenant {}", testClass.getSimpleName(), tenant.get());
+        ConfigManager config = shared.derive(Map.of("api.base.url", tenant.get().baseUrl()));
+        return Optional.of(new Binding(testClass, tenant.get(), config));
+    }
+
+    private static void close(Binding binding) {
+        try {
+            TestData.close(binding.tenant().baseUrl());
+            binding.tenant().close();
+        } catch (RuntimeException e) {
+            logger.warn("Closing tenant {} failed: {}", binding.tenant(), e.getMessage());
+        }
+    }
+}
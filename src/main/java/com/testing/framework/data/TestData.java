@@ -0,0 +1,88 @@
+package com.testing.framework.data;
+
+import com.testing.framework.core.config.ConfigManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Entry point to the fixture pools of the current run.
+ *
+ * Pools are created on first use per kind and API base URL, so environments fanned
+ * out by the {@code MultiEnvironmentListener} each get their own fixtures. All pools
+ * share one background executor and are closed by {@link TestDataListener}.
+ */
+public final class TestData {
+
+    private static final Map<String, FixturePool<?>> pools = new ConcurrentHashMap<>();
+    private static volatile ExecutorService executor;
+
+    private TestData() {
+    }
+
+    /**
+     * Pool of users in the active environment
+     */
+    public static FixturePool<UserFixture> users() {
+        String baseUrl = ConfigManager.getInstance().getApiBaseUrl();
+        return pool("users@" + baseUrl, () -> new UserFixtureProvisioner(baseUrl));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> FixturePool<T> pool(String key, Supplier<FixtureProvisioner<T>> provisioner) {
+        return (FixturePool<T>) pools.computeIfAbsent(key, k ->
+            new FixturePool<>(k, provisioner.get(), executor(), settings(ConfigManager.getInstance())).start());
+    }
+
+    private static FixturePool.Settings settings(ConfigManager config) {
+        return new FixturePool.Settings(
+            Integer.parseInt(config.getProperty("data.pool.size", "6")),
+            Integer.parseInt(config.getProperty("data.pool.batch.size", "3")),
+            Duration.ofMillis(Long.parseLong(config.getProperty("data.lease.timeout.ms", "10000"))),
+            Boolean.parseBoolean(config.getProperty("data.cleanup.enabled", "true")));
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (TestData.class) {
+                if (executor == null) {
+                    int threads = Integer.parseInt(ConfigManager.getInstance().getProperty("data.provision.threads", "4"));
+                    AtomicInteger counter = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "test-data-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Close the pools of one API, deleting their fixtures (e.g. when a test class's
+     * tenant goes away)
+     */
+    public static void close(String apiBaseUrl) {
+        pools.entrySet().removeIf(entry -> {
+            if (!entry.getKey().endsWith("@" + apiBaseUrl)) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
+
+    /**
+     * Close every pool, deleting their fixtures
+     */
+    public static void closeAll() {
+        pools.values().forEach(FixturePool::close);
+        pools.clear();
+    }
+}
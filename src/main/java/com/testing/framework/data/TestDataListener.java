@@ -0,0 +1,27 @@
+package com.testing.framework.data;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cleans up all fixture pools in batches once the last running suite finishes
+ * (environment clones of a suite run concurrently and may share pools)
+ */
+public class TestDataListener implements ISuiteListener {
+
+    private static final AtomicInteger runningSuites = new AtomicInteger();
+
+    @Override
+    public void onStart(ISuite suite) {
+        runningSuites.incrementAndGet();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (runningSuites.decrementAndGet() == 0) {
+            TestData.closeAll();
+        }
+    }
+}
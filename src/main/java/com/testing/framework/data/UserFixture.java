@@ -0,0 +1,7 @@
+package com.testing.framework.data;
+
+/**
+ * User created through the API for one test
+ */
+public record UserFixture(long id, String name, String email, String role) {
+}
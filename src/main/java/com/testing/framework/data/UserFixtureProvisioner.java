@@ -0,0 +1,130 @@
+package com.testing.framework.data;
+
+import com.testing.framework.api.client.EndpointTimingFilter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Creates users through {@code POST /users/batch} and deletes them through
+ * {@code DELETE /users/batch}, one request per {@value #MAX_BATCH_SIZE} users. APIs
+ * without the batch endpoints (404/405) get one request per user instead.
+ *
+ * Uses a bare request specification: provisioning runs on background threads outside
+ * any test, so request logging and Allure attachments would have nowhere to go.
+ */
+public class UserFixtureProvisioner implements FixtureProvisioner<UserFixture> {
+
+    private static final String ROLE = "Fixture";
+    // Server-side cap of the batch endpoints
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final RequestSpecification spec;
+    // Unique per run, so names and emails never collide with other runs against the same API
+    private final String runToken = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean batchSupported = true;
+
+    /**
+     * Per-item result of a batch request
+     */
+    private record ItemResult(int index, int status, Long id, String error) {}
+
+    public UserFixtureProvisioner(String apiBaseUrl) {
+        this.spec = new RequestSpecBuilder()
+            .setBaseUri(apiBaseUrl)
+            .setContentType(ContentType.JSON)
+            .setAccept(ContentType.JSON)
+            .addFilter(EndpointTimingFilter.UNTIMED)
+            .build();
+    }
+
+    @Override
+    public List<UserFixture> provision(int count) {
+        List<UserFixture> users = new ArrayList<>(count);
+        while (users.size() < count) {
+            List<UserFixture> chunk = new ArrayList<>();
+            for (int i = 0; i < Math.min(MAX_BATCH_SIZE, count - users.size()); i++) {
+                String handle = "fixture-" + runToken + "-" + sequence.incrementAndGet();
+                chunk.add(new UserFixture(0, handle, handle + "@example.com", ROLE));
+            }
+            users.addAll(batchSupported ? createBatch(chunk) : createOneByOne(chunk));
+        }
+        return users;
+    }
+
+    @Override
+    public void cleanup(List<UserFixture> users) {
+        for (int from = 0; from < users.size(); from += MAX_BATCH_SIZE) {
+            List<UserFixture> chunk = users.subList(from, Math.min(users.size(), from + MAX_BATCH_SIZE));
+            // 404 for an item: the test already deleted it
+            if (batchSupported) {
+                Response response = given(spec)
+                    .body(chunk.stream().map(UserFixture::id).toList())
+                    .delete("/users/batch");
+                if (response.statusCode() == 200) {
+                    continue;
+                }
+                isUnsupported(response);
+            }
+            for (UserFixture user : chunk) {
+                given(spec).pathParam("id", user.id()).delete("/users/{id}");
+            }
+        }
+    }
+
+    private List<UserFixture> createBatch(List<UserFixture> chunk) {
+        Response response = given(spec)
+            .body(chunk.stream().map(UserFixtureProvisioner::body).toList())
+            .post("/users/batch");
+        if (isUnsupported(response)) {
+            return createOneByOne(chunk);
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Creating fixture users failed with HTTP " + response.statusCode());
+        }
+        List<UserFixture> created = new ArrayList<>(chunk.size());
+        for (ItemResult result : response.jsonPath().getList("results", ItemResult.class)) {
+            UserFixture user = chunk.get(result.index());
+            if (result.status() != 201) {
+                throw new IllegalStateException("Creating fixture user " + user.name()
+                    + " failed with HTTP " + result.status() + ": " + result.error());
+            }
+            created.add(new UserFixture(result.id(), user.name(), user.email(), user.role()));
+        }
+        return created;
+    }
+
+    private List<UserFixture> createOneByOne(List<UserFixture> chunk) {
+        List<UserFixture> created = new ArrayList<>(chunk.size());
+        for (UserFixture user : chunk) {
+            Response response = given(spec).body(body(user)).post("/users");
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Creating fixture user failed with HTTP " + response.statusCode());
+            }
+            created.add(new UserFixture(response.jsonPath().getLong("id"), user.name(), user.email(), user.role()));
+        }
+        return created;
+    }
+
+    private boolean isUnsupported(Response response) {
+        if (response.statusCode() == 404 || response.statusCode() == 405) {
+            batchSupported = false;
+            return true;
+        }
+        return false;
+    }
+
+    private static Map<String, String> body(UserFixture user) {
+        return Map.of("name", user.name(), "email", user.email(), "role", user.role());
+    }
+}
@@ -3,6 +3,7 @@ package com.testing.framework.ui.pages;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.LoadState;
 import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.impact.ImpactRecorder;
 import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,7 @@ public abstract class BasePage {
     public BasePage(Page page) {
         this.page = page;
         this.config = ConfigManager.getInstance();
+        ImpactRecorder.touchPage(getClass());
     }
     
     /**
@@ -2,6 +2,7 @@ package com.testing.framework.ui.utils;
 
 import com.microsoft.playwright.*;
 import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.impact.ImpactRecorder;
 import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,30 +10,62 @@ import org.slf4j.LoggerFactory;
 import java.nio.file.Paths;
 
 /**
- * Browser manager for Playwright
+ * Browser manager for Playwright.
+ * Browser settings are resolved from the active {@link com.testing.framework.core.config.ConfigContext}.
  */
 public class BrowserManager {
     
     private static final Logger logger = LoggerFactory.getLogger(BrowserManager.class);
-    private static final ConfigManager config = ConfigManager.getInstance();
     
     private static ThreadLocal<Playwright> playwright = new ThreadLocal<>();
     private static ThreadLocal<Browser> browser = new ThreadLocal<>();
     private static ThreadLocal<BrowserContext> context = new ThreadLocal<>();
     private static ThreadLocal<Page> page = new ThreadLocal<>();
+    private static ThreadLocal<BrowserPool.PooledBrowser> pooled = new ThreadLocal<>();
+    private static ThreadLocal<String> activeBrowser = new ThreadLocal<>();
+    
+    /**
+     * Use another browser than the configured one on the current thread (browser matrix runs)
+     */
+    public static void useBrowser(String browserName) {
+        activeBrowser.set(browserName);
+    }
+    
+    public static void clearBrowser() {
+        activeBrowser.remove();
+    }
+    
+    /**
+     * Browser used on the current thread: the matrix browser if one is active, else the configured one
+     */
+    public static String currentBrowser() {
+        String active = activeBrowser.get();
+        return active != null ? active : ConfigManager.getInstance().getBrowser();
+    }
     
     /**
      * Initialize browser
      */
     public static void initializeBrowser() {
-        logger.info("Initializing browser: {}", config.getBrowser());
+        ImpactRecorder.touchClass(BrowserManager.class);
+        ConfigManager config = ConfigManager.getInstance();
+        String engine = BrowserPool.engineOf(currentBrowser());
+        logger.info("Initializing browser: {} ({})", engine, config.getEnvironment());
         
-        playwright.set(Playwright.create());
-        
-        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-            .setHeadless(config.isHeadless());
-        
-        browser.set(getBrowserType().launch(launchOptions));
+        if (Boolean.parseBoolean(config.getProperty("browser.pool.enabled", "true"))) {
+            // Reuse an already launched browser of this engine; only the context is new
+            BrowserPool.PooledBrowser leased = BrowserPool.forEngine(engine, config.isHeadless()).lease();
+            pooled.set(leased);
+            playwright.set(leased.playwright());
+            browser.set(leased.browser());
+        } else {
+            playwright.set(Playwright.create());
+            
+            BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
+                .setHeadless(config.isHeadless());
+            
+            browser.set(getBrowserType(engine).launch(launchOptions));
+        }
         
         Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
             .setViewportSize(1920, 1080)
@@ -51,14 +84,12 @@ public class BrowserManager {
     }
     
     /**
-     * Get browser type based on configuration
+     * Get browser type for an engine name
      */
-    private static BrowserType getBrowserType() {
-        String browserName = config.getBrowser().toLowerCase();
-        
-        return switch (browserName) {
+    private static BrowserType getBrowserType(String engine) {
+        return switch (engine) {
             case "firefox" -> playwright.get().firefox();
-            case "webkit", "safari" -> playwright.get().webkit();
+            case "webkit" -> playwright.get().webkit();
             default -> playwright.get().chromium();
         };
     }
@@ -67,6 +98,7 @@ public class BrowserManager {
      * Get current page
      */
     public static Page getPage() {
+        ImpactRecorder.touchClass(BrowserManager.class);
         if (page.get() == null) {
             initializeBrowser();
         }
@@ -129,6 +161,15 @@ public class BrowserManager {
                 context.remove();
             }
             
+            if (pooled.get() != null) {
+                // Keep the browser running for the next test of this engine
+                int maxIdle = Integer.parseInt(ConfigManager.getInstance().getProperty("browser.pool.max.idle", "4"));
+                pooled.get().pool().release(pooled.get(), maxIdle);
+                pooled.remove();
+                browser.remove();
+                playwright.remove();
+            }
+            
             if (browser.get() != null) {
                 browser.get().close();
                 browser.remove();
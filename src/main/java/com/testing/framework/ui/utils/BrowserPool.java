@@ -0,0 +1,135 @@
+package com.testing.framework.ui.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Launched browsers of one engine, reused across tests.
+ *
+ * Launching is the expensive part of browser setup, so a released browser stays open
+ * for the next lease instead of being closed. Playwright objects are not thread-safe:
+ * a browser (with its own {@link Playwright}) is used by one thread at a time, and the
+ * pool's queue hands it over safely to the next thread.
+ */
+public final class BrowserPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+    private static final Map<String, BrowserPool> pools = new ConcurrentHashMap<>();
+
+    private final String engine;
+    private final boolean headless;
+    private final Deque<PooledBrowser> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger launched = new AtomicInteger();
+
+    /**
+     * A browser together with the Playwright instance that drives it and its pool
+     */
+    public record PooledBrowser(BrowserPool pool, Playwright playwright, Browser browser) {
+
+        void close() {
+            try {
+                browser.close();
+            } finally {
+                playwright.close();
+            }
+        }
+    }
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserPool::closeAll, "browser-pool-shutdown"));
+    }
+
+    private BrowserPool(String engine, boolean headless) {
+        this.engine = engine;
+        this.headless = headless;
+    }
+
+    /**
+     * Pool of one engine ({@code chromium}, {@code firefox} or {@code webkit})
+     */
+    public static BrowserPool forEngine(String engine, boolean headless) {
+        return pools.computeIfAbsent(engine + (headless ? ":headless" : ":headed"),
+            k -> new BrowserPool(engine, headless));
+    }
+
+    /**
+     * Normalized engine name of a configured browser
+     */
+    public static String engineOf(String browserName) {
+        return switch (browserName.toLowerCase()) {
+            case "firefox" -> "firefox";
+            case "webkit", "safari" -> "webkit";
+            default -> "chromium";
+        };
+    }
+
+    /**
+     * An idle browser of this engine, or a newly launched one
+     */
+    public PooledBrowser lease() {
+        PooledBrowser pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.browser().isConnected()) {
+                return pooled;
+            }
+            closeQuietly(pooled);
+        }
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = browserType(playwright).launch(new BrowserType.LaunchOptions().setHeadless(headless));
+            logger.info("Launched {} browser #{}", engine, launched.incrementAndGet());
+            return new PooledBrowser(this, playwright, browser);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Keep a browser for the next lease, or close it when {@code maxIdle} are already waiting
+     */
+    public void release(PooledBrowser pooled, int maxIdle) {
+        if (pooled.browser().isConnected() && idle.size() < maxIdle) {
+            idle.offerFirst(pooled);
+        } else {
+            closeQuietly(pooled);
+        }
+    }
+
+    /**
+     * Close every idle browser of every engine
+     */
+    public static void closeAll() {
+        for (BrowserPool pool : pools.values()) {
+            PooledBrowser pooled;
+            while ((pooled = pool.idle.pollFirst()) != null) {
+                closeQuietly(pooled);
+            }
+        }
+    }
+
+    private BrowserType browserType(Playwright playwright) {
+        return switch (engine) {
+            case "firefox" -> playwright.firefox();
+            case "webkit" -> playwright.webkit();
+            default -> playwright.chromium();
+        };
+    }
+
+    private static void closeQuietly(PooledBrowser pooled) {
+        try {
+            pooled.close();
+        } catch (RuntimeException e) {
+            logger.debug("Error closing pooled {} browser: {}", pooled.pool().engine, e.getMessage());
+        }
+    }
+}
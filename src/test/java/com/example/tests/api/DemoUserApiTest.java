@@ -1,26 +1,57 @@
 package com.example.tests.api;
 
+import com.testing.framework.api.client.NdjsonStream;
 import com.testing.framework.core.config.ConfigManager;
-import io.restassured.RestAssured;
+import com.testing.framework.core.dag.Consumes;
+import com.testing.framework.core.dag.Produces;
+import com.testing.framework.core.health.HealthTarget;
+import com.testing.framework.core.health.RequiresTarget;
+import com.testing.framework.data.FixturePool;
+import com.testing.framework.data.Isolated;
+import com.testing.framework.data.Tenant;
+import com.testing.framework.data.TestData;
+import com.testing.framework.data.UserFixture;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static io.restassured.RestAssured.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
+@Isolated
+@RequiresTarget(HealthTarget.API)
 public class DemoUserApiTest {
     
+    private RequestSpecification spec;
+    private FixturePool<UserFixture> users;
+    
     @BeforeClass
     public void setup() {
-        RestAssured.baseURI = ConfigManager.getInstance().getProperty("api.base.url");
-        System.out.println("Testing Demo API at: " + RestAssured.baseURI);
+        // Per-instance spec, so environments fanned out in parallel never share a base URI;
+        // inside the class's own tenant (@Isolated)
+        String baseUri = ConfigManager.getInstance().getProperty("api.base.url");
+        spec = new RequestSpecBuilder().setBaseUri(baseUri).build();
+        // Starts provisioning fixture users in the background while the first tests run
+        users = TestData.users();
+        System.out.println("Testing Demo API at: " + baseUri);
     }
     
-    @Test(priority = 1, description = "Test API health endpoint")
+    @Test(description = "Test API health endpoint")
+    @Produces("api")
     public void testHealthCheck() {
-        given()
+        given(spec)
             .when()
             .get("/health")
             .then()
@@ -30,59 +61,182 @@ public class DemoUserApiTest {
         System.out.println("✅ Health check passed - API is running!");
     }
     
-    @Test(priority = 2, description = "Get all users from demo API")
+    @Test(description = "Page through all users from demo API")
+    @Consumes("api")
     public void testGetAllUsers() {
-        Response response = given()
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            RequestSpecification request = given(spec).queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("cursor", cursor);
+            }
+            Response response = request
+                .when()
+                .get("/users")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("size()", lessThanOrEqualTo(2))
+                .extract()
+                .response();
+            ids.addAll(response.jsonPath().getList("id", Integer.class));
+            cursor = response.header("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+        
+        assertThat(ids).isNotEmpty().isSorted().doesNotHaveDuplicates();
+        System.out.println("✅ Found " + ids.size() + " users in " + pages + " pages");
+    }
+    
+    @Test(description = "Filter users by role and name")
+    @Consumes("api")
+    public void testFilterUsers() {
+        UserFixture user = users.lease();
+        
+        given(spec)
+            .queryParam("role", user.role().toLowerCase())
+            .queryParam("name", user.name().toUpperCase())
             .when()
             .get("/users")
             .then()
             .statusCode(200)
-            .contentType(ContentType.JSON)
-            .body("size()", greaterThan(0))
-            .extract()
-            .response();
+            .body("id", hasItem((int) user.id()))
+            .body("role", everyItem(equalTo(user.role())));
         
-        System.out.println("✅ Found " + response.jsonPath().getList("$").size() + " users");
-        System.out.println("Users: " + response.body().asString());
+        given(spec)
+            .queryParam("role", "Admin")
+            .when()
+            .get("/users")
+            .then()
+            .statusCode(200)
+            .body("role", everyItem(equalTo("Admin")));
+        
+        given(spec)
+            .queryParam("limit", 0)
+            .when()
+            .get("/users")
+            .then()
+            .statusCode(400);
+        
+        System.out.println("✅ Filtered users by role and name");
     }
     
-    @Test(priority = 3, description = "Get specific user by ID")
+    @Test(description = "Get specific user by ID")
+    @Consumes("api")
     public void testGetUserById() {
-        // First get all users to find a valid ID
-        Response usersResponse = given()
+        UserFixture user = users.lease();
+        
+        given(spec)
+            .pathParam("id", user.id())
             .when()
-            .get("/users")
+            .get("/users/{id}")
             .then()
             .statusCode(200)
+            .body("id", equalTo((int) user.id()))
+            .body("name", equalTo(user.name()))
+            .body("email", equalTo(user.email()));
+        
+        System.out.println("✅ Successfully retrieved user by ID: " + user.id());
+    }
+    
+    @Test(description = "Look up users by email and role")
+    @Consumes("api")
+    public void testIndexedLookups() {
+        UserFixture user = users.lease();
+        
+        given(spec)
+            .queryParam("email", user.email().toUpperCase())
+            .when()
+            .get("/users/by-email")
+            .then()
+            .statusCode(200)
+            .body("id", equalTo((int) user.id()));
+        
+        given(spec)
+            .pathParam("role", user.role())
+            .queryParam("cursor", user.id() - 1)
+            .queryParam("limit", 1)
+            .when()
+            .get("/roles/{role}/users")
+            .then()
+            .statusCode(200)
+            .body("id", contains((int) user.id()));
+        
+        // Emails are unique
+        given(spec)
+            .contentType(ContentType.JSON)
+            .body(Map.of("name", "Duplicate", "email", user.email(), "role", "User"))
+            .when()
+            .post("/users")
+            .then()
+            .statusCode(409);
+        
+        System.out.println("✅ Looked up user " + user.id() + " by email and role");
+    }
+    
+    @Test(description = "Conditional GET with ETags")
+    @Consumes("api")
+    public void testConditionalGet() {
+        UserFixture user = users.lease();
+        
+        String etag = given(spec)
+            .pathParam("id", user.id())
+            .when()
+            .get("/users/{id}")
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
             .extract()
-            .response();
+            .header("ETag");
         
-        int userId = usersResponse.jsonPath().getInt("[0].id");
+        given(spec)
+            .pathParam("id", user.id())
+            .header("If-None-Match", etag)
+            .when()
+            .get("/users/{id}")
+            .then()
+            .statusCode(304);
         
-        given()
-            .pathParam("id", userId)
+        String updatedEtag = given(spec)
+            .pathParam("id", user.id())
+            .contentType(ContentType.JSON)
+            .body(Map.of("name", user.name(), "email", user.email(), "role", "Senior " + user.role()))
+            .when()
+            .put("/users/{id}")
+            .then()
+            .statusCode(200)
+            .extract()
+            .header("ETag");
+        assertThat(updatedEtag).isNotEqualTo(etag);
+        
+        // A changed resource is sent again
+        given(spec)
+            .pathParam("id", user.id())
+            .header("If-None-Match", etag)
             .when()
             .get("/users/{id}")
             .then()
             .statusCode(200)
-            .body("id", equalTo(userId))
-            .body("name", notNullValue())
-            .body("email", notNullValue());
+            .header("ETag", equalTo(updatedEtag));
         
-        System.out.println("✅ Successfully retrieved user by ID: " + userId);
+        System.out.println("✅ Conditional GET revalidated user " + user.id());
     }
     
-    @Test(priority = 4, description = "Create a new user")
+    @Test(description = "Create a new user")
+    @Consumes("api")
     public void testCreateUser() {
+        String email = "test-" + Long.toString(System.nanoTime(), 36) + "@example.com";
         String newUser = """
             {
                 "name": "Test User",
-                "email": "test@example.com",
+                "email": "%s",
                 "role": "Tester"
             }
-            """;
+            """.formatted(email);
         
-        Response response = given()
+        Response response = given(spec)
             .contentType(ContentType.JSON)
             .body(newUser)
             .when()
@@ -90,38 +244,192 @@ public class DemoUserApiTest {
             .then()
             .statusCode(201)
             .body("name", equalTo("Test User"))
-            .body("email", equalTo("test@example.com"))
+            .body("email", equalTo(email))
             .body("role", equalTo("Tester"))
             .body("id", notNullValue())
             .extract()
             .response();
         
         int createdUserId = response.jsonPath().getInt("id");
+        users.track(new UserFixture(createdUserId, "Test User", email, "Tester"));
         System.out.println("✅ Created new user with ID: " + createdUserId);
     }
     
-    @Test(priority = 5, description = "Update an existing user")
-    public void testUpdateUser() {
-        // First get all users to find a valid ID
-        Response usersResponse = given()
+    @Test(description = "Create, update and delete users in batches")
+    @Consumes("api")
+    public void testBatchOperations() {
+        String token = Long.toString(System.nanoTime(), 36);
+        // NDJSON; the third user repeats the first one's email
+        String ndjson = String.join("\n",
+            "{\"name\":\"Batch A\",\"email\":\"a-" + token + "@example.com\",\"role\":\"User\"}",
+            "{\"name\":\"Batch B\",\"email\":\"b-" + token + "@example.com\",\"role\":\"User\"}",
+            "{\"name\":\"Batch C\",\"email\":\"a-" + token + "@example.com\",\"role\":\"User\"}");
+        
+        Response created = given(spec)
+            .contentType("application/x-ndjson")
+            .body(ndjson.getBytes(StandardCharsets.UTF_8))
             .when()
-            .get("/users")
+            .post("/users/batch")
             .then()
             .statusCode(200)
+            .body("succeeded", equalTo(2))
+            .body("failed", equalTo(1))
+            .body("results.status", contains(201, 201, 409))
             .extract()
             .response();
+        List<Integer> ids = created.jsonPath().getList("results.findAll { it.status == 201 }.id", Integer.class);
+        assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1);
+        ids.forEach(id -> users.track(new UserFixture(id, "Batch", "batch@example.com", "User")));
         
-        int userId = usersResponse.jsonPath().getInt("[0].id");
+        given(spec)
+            .contentType(ContentType.JSON)
+            .body(List.of(
+                Map.of("id", ids.get(0), "name", "Batch A2", "email", "a-" + token + "@example.com", "role", "Admin"),
+                Map.of("id", Integer.MAX_VALUE, "name", "Missing", "email", "m-" + token + "@example.com", "role", "User")))
+            .when()
+            .put("/users/batch")
+            .then()
+            .statusCode(200)
+            .body("results.status", contains(200, 404));
+        
+        given(spec)
+            .contentType(ContentType.JSON)
+            .body(ids)
+            .when()
+            .delete("/users/batch")
+            .then()
+            .statusCode(200)
+            .body("succeeded", equalTo(2));
+        
+        // Batches are capped at 1000 items
+        given(spec)
+            .contentType("application/x-ndjson")
+            .body("{}\n".repeat(1001).getBytes(StandardCharsets.UTF_8))
+            .when()
+            .post("/users/batch")
+            .then()
+            .statusCode(413);
+        
+        System.out.println("✅ Batch created, updated and deleted users " + ids);
+    }
+    
+    @Test(description = "Stream all users as NDJSON")
+    @Consumes("api")
+    public void testStreamingExport() {
+        UserFixture user = users.lease();
+        String exportUrl = ConfigManager.getInstance().getApiBaseUrl() + "/users/export";
+        NdjsonStream stream = new NdjsonStream(Duration.ofSeconds(30), true);
+        
+        // Checked record by record; nothing but the last ID is kept
+        AtomicLong lastId = new AtomicLong();
+        AtomicBoolean found = new AtomicBoolean();
+        NdjsonStream.Summary summary = stream.read(exportUrl, UserFixture.class, record -> {
+            assertThat(record.id()).isGreaterThan(lastId.get());
+            assertThat(record.email()).isNotBlank();
+            lastId.set(record.id());
+            found.compareAndSet(false, record.id() == user.id());
+        });
+        assertThat(summary.gzip()).isTrue();
+        assertThat(summary.records()).isPositive();
+        assertThat(found).isTrue();
+        
+        NdjsonStream.Summary admins = stream.read(exportUrl + "?role=admin", UserFixture.class,
+            record -> assertThat(record.role()).isEqualToIgnoringCase("admin"));
+        assertThat(admins.records()).isPositive().isLessThan(summary.records());
+        
+        System.out.println("✅ Streamed " + summary.records() + " users (" + summary.bytes() + " bytes gzip)");
+    }
+
+    @Test(description = "Read per-route server metrics")
+    @Consumes("api")
+    public void testServerMetrics() {
+        given(spec).get("/users/999999").then().statusCode(404);
+
+        String text = given(spec)
+            .when()
+            .get("/metrics")
+            .then()
+            .statusCode(200)
+            .contentType(startsWith("text/plain"))
+            .extract().asString();
+        assertThat(text).contains("# TYPE demo_http_request_duration_seconds histogram")
+            .contains("demo_http_request_errors_total{method=\"GET\",route=\"/api/users/{id}\",class=\"client\"}");
+
+        given(spec)
+            .queryParam("format", "json")
+            .when()
+            .get("/metrics")
+            .then()
+            .statusCode(200)
+            .body("inFlight", greaterThanOrEqualTo(1))
+            .body("routes.find { it.route == '/api/users/{id}' && it.method == 'GET' }.clientErrors", greaterThanOrEqualTo(1));
+
+        System.out.println("✅ Server metrics exposed in Prometheus and JSON format");
+    }
+
+    @Test(description = "Reset a tenant to a snapshot")
+    @Consumes("api")
+    public void testSnapshotAndReset() {
+        String baseUri = ConfigManager.getInstance().getApiBaseUrl();
+        String token = Long.toString(System.nanoTime(), 36);
+        // A scratch tenant, so the reset cannot undo what other tests of this class do meanwhile
+        try (Tenant scratch = Tenant.create(baseUri, "scratch-" + token, Tenant.INITIAL_SNAPSHOT).orElseThrow()) {
+            RequestSpecification scratchSpec = new RequestSpecBuilder().setBaseUri(scratch.baseUrl()).build();
+            scratch.snapshot("before");
+            
+            String email = "scratch-" + token + "@example.com";
+            int createdUserId = given(scratchSpec)
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "Scratch User", "email", email, "role", "User"))
+                .when()
+                .post("/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+            
+            // Tenants do not see each other's users
+            given(spec)
+                .queryParam("email", email)
+                .when()
+                .get("/users/by-email")
+                .then()
+                .statusCode(404);
+            
+            scratch.reset("before");
+            
+            given(scratchSpec)
+                .pathParam("id", createdUserId)
+                .when()
+                .get("/users/{id}")
+                .then()
+                .statusCode(404);
+            given(scratchSpec)
+                .queryParam("email", "john@example.com")
+                .when()
+                .get("/users/by-email")
+                .then()
+                .statusCode(200);
+            
+            System.out.println("✅ Reset tenant " + scratch.id() + " to its snapshot");
+        }
+    }
+    
+    @Test(description = "Update an existing user")
+    @Consumes("api")
+    public void testUpdateUser() {
+        long userId = users.lease().id();
+        String email = "updated-" + Long.toString(System.nanoTime(), 36) + "@example.com";
         
         String updatedUser = """
             {
                 "name": "Updated User",
-                "email": "updated@example.com",
+                "email": "%s",
                 "role": "Senior Tester"
             }
-            """;
+            """.formatted(email);
         
-        given()
+        given(spec)
             .pathParam("id", userId)
             .contentType(ContentType.JSON)
             .body(updatedUser)
@@ -130,37 +438,19 @@ public class DemoUserApiTest {
             .then()
             .statusCode(200)
             .body("name", equalTo("Updated User"))
-            .body("email", equalTo("updated@example.com"))
+            .body("email", equalTo(email))
             .body("role", equalTo("Senior Tester"));
         
         System.out.println("✅ Successfully updated user ID: " + userId);
     }
     
-    @Test(priority = 6, description = "Delete a user")
+    @Test(description = "Delete a user")
+    @Consumes("api")
     public void testDeleteUser() {
-        // First create a user to delete
-        String userToDelete = """
-            {
-                "name": "Delete Me",
-                "email": "delete@example.com",
-                "role": "Temporary"
-            }
-            """;
-        
-        Response createResponse = given()
-            .contentType(ContentType.JSON)
-            .body(userToDelete)
-            .when()
-            .post("/users")
-            .then()
-            .statusCode(201)
-            .extract()
-            .response();
-        
-        int userId = createResponse.jsonPath().getInt("id");
+        long userId = users.lease().id();
         
-        // Now delete it
-        given()
+        // Delete the leased user
+        given(spec)
             .pathParam("id", userId)
             .when()
             .delete("/users/{id}")
@@ -170,7 +460,7 @@ public class DemoUserApiTest {
         System.out.println("✅ Successfully deleted user with ID: " + userId);
         
         // Verify it's gone
-        given()
+        given(spec)
             .pathParam("id", userId)
             .when()
             .get("/users/{id}")
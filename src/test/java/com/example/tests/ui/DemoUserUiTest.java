@@ -2,12 +2,16 @@ package com.example.tests.ui;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
+import com.testing.framework.core.health.HealthTarget;
+import com.testing.framework.core.health.RequiresTarget;
 import com.testing.framework.ui.utils.BrowserManager;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+// The page loads its users from the API, so both must be up
+@RequiresTarget({HealthTarget.UI, HealthTarget.API})
 public class DemoUserUiTest {
     
     private Page page;
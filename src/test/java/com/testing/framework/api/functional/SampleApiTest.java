@@ -1,6 +1,8 @@
 package com.testing.framework.api.functional;
 
 import com.testing.framework.api.client.BaseApiClient;
+import com.testing.framework.core.health.HealthTarget;
+import com.testing.framework.core.health.RequiresTarget;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.annotations.BeforeClass;
@@ -14,6 +16,7 @@ import static org.hamcrest.Matchers.*;
  */
 @Epic("API Testing")
 @Feature("User Management")
+@RequiresTarget(HealthTarget.API)
 public class SampleApiTest extends BaseApiClient {
     
     @BeforeClass
@@ -2,12 +2,15 @@ package com.testing.framework.smoke;
 
 import com.microsoft.playwright.Page;
 import com.testing.framework.api.client.BaseApiClient;
+import com.testing.framework.core.dag.Consumes;
+import com.testing.framework.core.dag.Produces;
 import com.testing.framework.ui.utils.BrowserManager;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.annotations.*;
 
 import static io.restassured.RestAssured.given;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -30,31 +33,30 @@ public class SmokeTest extends BaseApiClient {
         BrowserManager.closeBrowser();
     }
     
-    @Test(priority = 1)
+    @Test
+    @Produces("api")
     @Story("API Health")
     @Severity(SeverityLevel.BLOCKER)
     @Description("Verify API is accessible and responding")
     public void testApiHealth() {
-        // This is a placeholder - adjust endpoint to your actual health check
-        try {
-            Response response = given()
-                .spec(requestSpec)
-            .when()
-                .get("/health")
-            .then()
-                .extract().response();
-            
-            int statusCode = response.getStatusCode();
-            assertTrue(statusCode == 200 || statusCode == 404, 
-                "API should be accessible (got status: " + statusCode + ")");
-            
-            logger.info("API health check passed with status: {}", statusCode);
-        } catch (Exception e) {
-            logger.warn("API health check failed (expected for demo): {}", e.getMessage());
-        }
+        // Connection errors propagate and fail the test; CircuitBreakerListener skips
+        // API-dependent tests once the same probe has failed
+        Response response = given()
+            .spec(requestSpec)
+        .when()
+            .get("/health")
+        .then()
+            .extract().response();
+        
+        int statusCode = response.getStatusCode();
+        assertEquals(statusCode, 200, "API health endpoint should answer 200");
+        assertEquals(response.jsonPath().getString("status"), "UP", "API should report status UP");
+        
+        logger.info("API health check passed with status: {}", statusCode);
     }
     
-    @Test(priority = 2)
+    @Test
+    @Produces("ui")
     @Story("UI Health")
     @Severity(SeverityLevel.BLOCKER)
     @Description("Verify UI application is accessible")
@@ -69,7 +71,8 @@ public class SmokeTest extends BaseApiClient {
         logger.info("UI health check passed - title: {}", title);
     }
     
-    @Test(priority = 3, dependsOnMethods = {"testApiHealth", "testUiHealth"})
+    @Test
+    @Consumes({"api", "ui"})
     @Story("Integration Health")
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify basic integration between API and UI")
@@ -0,0 +1,88 @@
+package com.testing.framework.stack;
+
+import com.demo.DemoApiApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The demo application (backend API and static frontend) running inside the test JVM.
+ *
+ * Both servers bind ephemeral loopback ports. One warm instance is shared by all
+ * suites of the run: it is started on first use and stopped at JVM shutdown.
+ */
+public final class EmbeddedDemoStack {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedDemoStack.class);
+    private static EmbeddedDemoStack shared;
+
+    private final ConfigurableApplicationContext api;
+    private final StaticSiteServer frontend;
+    private final String apiBaseUrl;
+
+    private EmbeddedDemoStack(Path frontendDirectory) {
+        long started = System.nanoTime();
+        // Spring must not reconfigure logback; the tests' logback-test.xml stays in charge
+        System.setProperty("org.springframework.boot.logging.LoggingSystem", "none");
+        this.api = new SpringApplicationBuilder(DemoApiApplication.class)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .registerShutdownHook(false)
+            // The backend's application.properties is not on the test classpath: settings
+            // the API relies on are repeated here
+            .properties(Map.of(
+                "server.port", "0",
+                "server.address", "127.0.0.1",
+                "spring.application.name", "demo-api-embedded",
+                "spring.mvc.async.request-timeout", "-1"))
+            .run();
+        int port = ((WebServerApplicationContext) api).getWebServer().getPort();
+        this.apiBaseUrl = "http://127.0.0.1:" + port + "/api";
+        try {
+            this.frontend = new StaticSiteServer(frontendDirectory, apiBaseUrl);
+        } catch (RuntimeException e) {
+            api.close();
+            throw e;
+        }
+        logger.info("Embedded demo stack started in {} ms: api={} ui={}",
+            (System.nanoTime() - started) / 1_000_000, apiBaseUrl, frontend.baseUrl());
+    }
+
+    /**
+     * Shared stack, started on first call
+     */
+    public static synchronized EmbeddedDemoStack shared(Path frontendDirectory) {
+        if (shared == null) {
+            EmbeddedDemoStack stack = new EmbeddedDemoStack(frontendDirectory);
+            Runtime.getRuntime().addShutdownHook(new Thread(stack::stop, "demo-stack-shutdown"));
+            shared = stack;
+        }
+        return shared;
+    }
+
+    public String apiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    public String uiBaseUrl() {
+        return frontend.baseUrl();
+    }
+
+    /**
+     * Configuration values pointing the framework at this stack
+     */
+    public Map<String, String> configOverrides() {
+        return Map.of("api.base.url", apiBaseUrl(), "ui.base.url", uiBaseUrl());
+    }
+
+    private void stop() {
+        frontend.close();
+        api.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.testing.framework.stack;
+
+import com.testing.framework.core.config.ConfigAware;
+import com.testing.framework.core.config.ConfigManager;
+import com.testing.framework.core.listeners.MultiEnvironmentListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Points suites at the {@link EmbeddedDemoStack} when their environment sets
+ * {@code demo.stack.embedded=true}.
+ *
+ * Register it before listeners that read the target URLs at suite start
+ * (e.g. the circuit breaker's health probes).
+ */
+public class EmbeddedDemoStackListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        String env = suite.getParameter(MultiEnvironmentListener.ENV_PARAMETER);
+        ConfigManager config = env != null ? ConfigManager.forEnvironment(env) : ConfigManager.getInstance();
+        if (!Boolean.parseBoolean(config.getProperty("demo.stack.embedded", "false"))) {
+            return;
+        }
+        EmbeddedDemoStack stack = EmbeddedDemoStack.shared(
+            Paths.get(config.getProperty("demo.stack.frontend.dir", "demo-app/frontend")));
+        if (!stack.apiBaseUrl().equals(config.getApiBaseUrl()) || !stack.uiBaseUrl().equals(config.getUiBaseUrl())) {
+            config.override(stack.configOverrides());
+        }
+        // Test instances exist before the suite starts and may have read the old URLs
+        Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            Object instance = method.getInstance();
+            if (instance instanceof ConfigAware configAware && instances.add(instance)) {
+                configAware.applyConfig(config);
+            }
+        }
+    }
+}
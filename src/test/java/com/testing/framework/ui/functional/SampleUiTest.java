@@ -1,6 +1,8 @@
 package com.testing.framework.ui.functional;
 
 import com.microsoft.playwright.Page;
+import com.testing.framework.core.health.HealthTarget;
+import com.testing.framework.core.health.RequiresTarget;
 import com.testing.framework.ui.utils.BrowserManager;
 import io.qameta.allure.*;
 import org.testng.annotations.*;
@@ -12,6 +14,7 @@ import static org.testng.Assert.*;
  */
 @Epic("UI Testing")
 @Feature("Web Navigation")
+@RequiresTarget(HealthTarget.UI)
 public class SampleUiTest {
     
     private Page page;